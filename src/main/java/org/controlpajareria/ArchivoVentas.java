@@ -0,0 +1,194 @@
+package org.controlpajareria;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Clase que gestiona el archivo histórico de ventas en disco.
+ * Las ventas de periodos cerrados se sacan del {@code RegistroVentas} en memoria y se
+ * guardan en ficheros {@code SegmentoVentas} inmutables y comprimidos, de modo que el
+ * histórico puede crecer durante años sin que crezca la memoria de la aplicación.
+ *
+ * <p>Los segmentos se abren mapeados en memoria y las consultas solo descomprimen
+ * los bloques que necesitan.
+ *
+ * <p>Los clientes de las ventas archivadas son copias guardadas en el segmento. Si se
+ * indica cómo buscar los clientes activos, al consultar el archivo se marcan como
+ * dados de baja los que ya no lo están, igual que en las ventas en memoria.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ArchivoVentas {
+    /**
+     * Días de antigüedad por defecto a partir de los cuales una venta se archiva.
+     */
+    public static final int DIAS_POR_DEFECTO = 365;
+
+    private static final String PREFIJO = "ventas-";
+    private static final String EXTENSION = ".seg";
+
+    /**
+     * Directorio donde se guardan los segmentos.
+     */
+    private final Path directorio;
+
+    /**
+     * Segmentos archivados, del más antiguo al más reciente.
+     */
+    private final CopyOnWriteArrayList<SegmentoVentas> segmentos = new CopyOnWriteArrayList<>();
+
+    /**
+     * Búsqueda de clientes activos por DNI, o {@code null} si no se comprueban las bajas.
+     */
+    private final Function<String, Cliente> clientesActivos;
+
+    /**
+     * Constructor que abre el archivo del directorio indicado, cargando los segmentos existentes.
+     * Si el directorio no existe, se creará al archivar por primera vez. Los clientes de
+     * las ventas archivadas se muestran tal como estaban al archivarlas.
+     *
+     * @param directorio El directorio del archivo histórico.
+     * @throws IOException Si algún segmento existente no se puede abrir.
+     */
+    public ArchivoVentas(Path directorio) throws IOException {
+        this(directorio, null);
+    }
+
+    /**
+     * Constructor que abre el archivo del directorio indicado, cargando los segmentos existentes.
+     * Al consultarlo, los clientes archivados que ya no estén activos se marcan como dados de baja.
+     *
+     * @param directorio      El directorio del archivo histórico.
+     * @param clientesActivos Búsqueda de clientes activos por DNI; devuelve {@code null} si no hay
+     *                        ninguno activo con ese DNI (por ejemplo, {@code RegistroClientes::buscar}).
+     * @throws IOException Si algún segmento existente no se puede abrir.
+     */
+    public ArchivoVentas(Path directorio, Function<String, Cliente> clientesActivos) throws IOException {
+        this.directorio = directorio;
+        this.clientesActivos = clientesActivos;
+        if (Files.isDirectory(directorio)) {
+            List<Path> rutas = new ArrayList<>();
+            try (DirectoryStream<Path> ficheros = Files.newDirectoryStream(directorio, PREFIJO + "*" + EXTENSION)) {
+                for (Path ruta : ficheros) {
+                    rutas.add(ruta);
+                }
+            }
+            rutas.sort(null);
+            for (Path ruta : rutas) {
+                segmentos.add(SegmentoVentas.abrir(ruta));
+            }
+        }
+    }
+
+    /**
+     * Archiva las ventas del principio del histórico con fecha anterior a la indicada
+     * y las descarta de la memoria.
+     * <p>Como las ventas se registran en orden, se archivan desde la más antigua hasta
+     * la primera que no es anterior a la fecha de corte.
+     *
+     * @param ventas El histórico de ventas en memoria.
+     * @param corte  Fecha de corte: se archivan las ventas anteriores a esta fecha.
+     * @return El número de ventas archivadas.
+     * @throws IOException Si no se puede escribir el segmento.
+     */
+    public synchronized int archivarAnteriores(RegistroVentas ventas, LocalDate corte) throws IOException {
+        String fechaCorte = corte.toString();
+        RegistroVentas.Instantanea instantanea = ventas.instantanea();
+        List<Venta> antiguas = new ArrayList<>();
+        for (Venta venta : instantanea) {
+            // Las fechas ISO (AAAA-MM-DD) se ordenan igual como texto que como fecha.
+            if (venta.getFecha().compareTo(fechaCorte) >= 0) break;
+            antiguas.add(venta);
+        }
+        if (antiguas.isEmpty()) return 0;
+
+        Files.createDirectories(directorio);
+        Path ruta = directorio.resolve(String.format("%s%06d%s", PREFIJO, siguienteNumero(), EXTENSION));
+        segmentos.add(SegmentoVentas.escribir(ruta, antiguas));
+        ventas.descartarPrimeras(antiguas.size());
+        return antiguas.size();
+    }
+
+    /**
+     * Obtiene las ventas archivadas entre dos fechas (ambas incluidas).
+     * <p>Los segmentos fuera del rango se descartan sin descomprimir nada.
+     *
+     * @param desde Fecha inicial.
+     * @param hasta Fecha final.
+     * @return Las ventas archivadas del rango.
+     * @throws IOException Si algún segmento está dañado.
+     */
+    public List<Venta> buscarPorFechas(LocalDate desde, LocalDate hasta) throws IOException {
+        List<Venta> resultado = new ArrayList<>();
+        for (SegmentoVentas segmento : segmentos) {
+            if (segmento.getUltimaFecha().isBefore(desde) || segmento.getPrimeraFecha().isAfter(hasta)) continue;
+            resultado.addAll(segmento.buscarPorFechas(desde, hasta));
+        }
+        return marcarBajas(resultado);
+    }
+
+    /**
+     * Obtiene las ventas archivadas de un cliente, buscado por DNI.
+     *
+     * @param dni El DNI del cliente.
+     * @return Las ventas archivadas del cliente.
+     * @throws IOException Si algún segmento está dañado.
+     */
+    public List<Venta> buscarPorCliente(String dni) throws IOException {
+        List<Venta> resultado = new ArrayList<>();
+        for (SegmentoVentas segmento : segmentos) {
+            resultado.addAll(segmento.buscarPorCliente(dni));
+        }
+        return marcarBajas(resultado);
+    }
+
+    /**
+     * Obtiene el número total de ventas archivadas.
+     *
+     * @return El número de ventas en todos los segmentos.
+     */
+    public int getNumVentas() {
+        int total = 0;
+        for (SegmentoVentas segmento : segmentos) {
+            total += segmento.getNumVentas();
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene el número de segmentos archivados.
+     *
+     * @return El número de ficheros de segmento.
+     */
+    public int getNumSegmentos() { return segmentos.size(); }
+
+    /**
+     * Marca como dados de baja los clientes archivados que ya no están activos. Cada
+     * consulta lee sus propias copias de los clientes, así que se comprueba siempre.
+     */
+    private List<Venta> marcarBajas(List<Venta> ventas) {
+        if (clientesActivos == null) return ventas;
+        for (Venta venta : ventas) {
+            Cliente cliente = venta.getCliente();
+            if (!cliente.isEliminado() && clientesActivos.apply(cliente.getDni()) == null) {
+                cliente.marcarEliminado();
+            }
+        }
+        return ventas;
+    }
+
+    private int siguienteNumero() {
+        if (segmentos.isEmpty()) return 1;
+        String nombre = segmentos.get(segmentos.size() - 1).getRuta().getFileName().toString();
+        return Integer.parseInt(nombre.substring(PREFIJO.length(), nombre.length() - EXTENSION.length())) + 1;
+    }
+}
@@ -0,0 +1,98 @@
+package org.controlpajareria;
+
+import java.util.Arrays;
+
+/**
+ * Clase que acumula los pájaros de una venta mientras se está realizando.
+ * Está pensada para reutilizarse de una venta a otra: las líneas se guardan en un
+ * array que solo crece la primera vez que hace falta, y el total se acumula al
+ * añadir cada pájaro. Así, añadir líneas no crea ningún objeto y al cerrar la venta
+ * solo se crea la {@code Venta} que se registra.
+ *
+ * <p>No es segura para hilos: cada cesta la usa un único punto de venta.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class CestaVenta {
+    /**
+     * Capacidad inicial de la cesta.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Pájaros añadidos a la venta en curso. Solo son válidas las primeras {@code numLineas} posiciones.
+     */
+    private Pajaro[] lineas = new Pajaro[CAPACIDAD_INICIAL];
+
+    /**
+     * Número de pájaros añadidos a la venta en curso.
+     */
+    private int numLineas;
+
+    /**
+     * Importe acumulado de la venta en curso.
+     */
+    private double total;
+
+    /**
+     * Añade un pájaro a la venta en curso.
+     *
+     * @param pajaro El pájaro a añadir. No debe ser {@code null}.
+     */
+    public void agregar(Pajaro pajaro) {
+        if (numLineas == lineas.length) {
+            lineas = Arrays.copyOf(lineas, lineas.length * 2);
+        }
+        lineas[numLineas++] = pajaro;
+        total += pajaro.getPrecio();
+    }
+
+    /**
+     * Obtiene el número de pájaros de la venta en curso.
+     *
+     * @return El número de líneas.
+     */
+    public int getNumLineas() { return numLineas; }
+
+    /**
+     * Indica si no se ha añadido ningún pájaro a la venta en curso.
+     *
+     * @return {@code true} si la cesta está vacía.
+     */
+    public boolean estaVacia() { return numLineas == 0; }
+
+    /**
+     * Obtiene el importe acumulado de la venta en curso.
+     *
+     * @return El total de los pájaros añadidos.
+     */
+    public double getTotal() { return total; }
+
+    /**
+     * Cierra la venta en curso: crea la {@code Venta} con fecha de hoy y deja la cesta
+     * vacía para la siguiente.
+     *
+     * @param cliente El cliente que realiza la compra.
+     * @return La venta creada, lista para registrar.
+     * @throws IllegalStateException Si la cesta está vacía.
+     */
+    public Venta cerrar(Cliente cliente) {
+        if (numLineas == 0) {
+            throw new IllegalStateException("No se puede cerrar una venta sin pájaros.");
+        }
+        Venta venta = new Venta(cliente, lineas, numLineas, total);
+        vaciar();
+        return venta;
+    }
+
+    /**
+     * Descarta la venta en curso y deja la cesta vacía.
+     */
+    public void vaciar() {
+        Arrays.fill(lineas, 0, numLineas, null);
+        numLineas = 0;
+        total = 0;
+    }
+}
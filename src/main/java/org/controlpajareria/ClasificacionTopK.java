@@ -0,0 +1,168 @@
+package org.controlpajareria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Clase que mantiene una clasificación aproximada de los elementos más frecuentes
+ * (o con más peso) de un flujo de datos, usando el algoritmo Space-Saving.
+ *
+ * <p>Solo se guardan como mucho {@code capacidad} contadores, así que la memoria es
+ * fija aunque haya millones de elementos distintos. Cuando llega un elemento nuevo y
+ * no queda sitio, sustituye al que menos cuenta tiene y hereda su cuenta como posible
+ * error. Los elementos realmente frecuentes nunca se pierden, y cada actualización
+ * cuesta O(log capacidad).
+ *
+ * @param <K> Tipo de los elementos clasificados.
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ClasificacionTopK<K> {
+    /**
+     * Contador de un elemento dentro del montículo de mínimos.
+     */
+    private static final class Contador<K> {
+        private K clave;
+        private double cuenta;
+        private double error;
+        private int posicion;
+    }
+
+    /**
+     * Puesto de un elemento en la clasificación.
+     *
+     * @param <K> Tipo del elemento clasificado.
+     */
+    public static final class Puesto<K> {
+        private final K clave;
+        private final double cuenta;
+        private final double error;
+
+        Puesto(K clave, double cuenta, double error) {
+            this.clave = clave;
+            this.cuenta = cuenta;
+            this.error = error;
+        }
+
+        /**
+         * Obtiene el elemento clasificado.
+         *
+         * @return El elemento.
+         */
+        public K getClave() { return clave; }
+
+        /**
+         * Obtiene la cuenta estimada del elemento. Nunca es menor que la real.
+         *
+         * @return La cuenta estimada.
+         */
+        public double getCuenta() { return cuenta; }
+
+        /**
+         * Obtiene el error máximo de la cuenta: la real está entre {@code cuenta - error} y {@code cuenta}.
+         *
+         * @return El error máximo.
+         */
+        public double getError() { return error; }
+    }
+
+    private final HashMap<K, Contador<K>> contadores;
+    private final Contador<K>[] monticulo;
+    private int tamanio;
+
+    /**
+     * Constructor que crea una clasificación vacía.
+     *
+     * @param capacidad Número máximo de elementos que se siguen a la vez. Conviene que
+     *                  sea varias veces mayor que el número de puestos que se van a mostrar.
+     */
+    @SuppressWarnings("unchecked")
+    public ClasificacionTopK(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que 0: " + capacidad);
+        }
+        this.contadores = new HashMap<>(capacidad * 2);
+        this.monticulo = (Contador<K>[]) new Contador<?>[capacidad];
+    }
+
+    /**
+     * Suma un peso a la cuenta de un elemento.
+     *
+     * @param clave El elemento.
+     * @param peso  El peso a sumar (por ejemplo, unidades vendidas o importe). Debe ser positivo.
+     */
+    public void sumar(K clave, double peso) {
+        Contador<K> contador = contadores.get(clave);
+        if (contador == null) {
+            if (tamanio < monticulo.length) {
+                contador = new Contador<>();
+                contador.posicion = tamanio;
+                monticulo[tamanio++] = contador;
+            } else {
+                contador = monticulo[0];
+                contadores.remove(contador.clave);
+                contador.error = contador.cuenta;
+            }
+            contador.clave = clave;
+            contadores.put(clave, contador);
+        }
+        contador.cuenta += peso;
+        hundir(contador.posicion);
+        flotar(contador.posicion);
+    }
+
+    /**
+     * Obtiene los primeros puestos de la clasificación.
+     * <p>Se ordenan por la cuenta garantizada ({@code cuenta - error}) y, a igualdad, por la
+     * cuenta estimada, para que un elemento recién llegado que ha heredado mucho error
+     * no adelante a los que de verdad son frecuentes.
+     *
+     * @param puestos Número máximo de puestos a devolver.
+     * @return La lista de puestos.
+     */
+    public List<Puesto<K>> primeros(int puestos) {
+        Contador<K>[] copia = Arrays.copyOf(monticulo, tamanio);
+        Arrays.sort(copia, Comparator.comparingDouble((Contador<K> c) -> c.cuenta - c.error)
+                .thenComparingDouble(c -> c.cuenta)
+                .reversed());
+        List<Puesto<K>> resultado = new ArrayList<>(Math.min(puestos, tamanio));
+        for (int i = 0; i < copia.length && i < puestos; i++) {
+            resultado.add(new Puesto<>(copia[i].clave, copia[i].cuenta, copia[i].error));
+        }
+        return resultado;
+    }
+
+    private void hundir(int posicion) {
+        while (true) {
+            int menor = posicion;
+            int izquierda = 2 * posicion + 1;
+            int derecha = izquierda + 1;
+            if (izquierda < tamanio && monticulo[izquierda].cuenta < monticulo[menor].cuenta) menor = izquierda;
+            if (derecha < tamanio && monticulo[derecha].cuenta < monticulo[menor].cuenta) menor = derecha;
+            if (menor == posicion) return;
+            intercambiar(posicion, menor);
+            posicion = menor;
+        }
+    }
+
+    private void flotar(int posicion) {
+        while (posicion > 0) {
+            int padre = (posicion - 1) / 2;
+            if (monticulo[padre].cuenta <= monticulo[posicion].cuenta) return;
+            intercambiar(posicion, padre);
+            posicion = padre;
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        Contador<K> temporal = monticulo[a];
+        monticulo[a] = monticulo[b];
+        monticulo[b] = temporal;
+        monticulo[a].posicion = a;
+        monticulo[b].posicion = b;
+    }
+}
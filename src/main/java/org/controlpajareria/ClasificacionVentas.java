@@ -0,0 +1,123 @@
+package org.controlpajareria;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Clase que mantiene en vivo las clasificaciones de especies más vendidas (por unidades)
+ * y de mejores clientes (por importe gastado).
+ * Se actualiza de forma incremental con cada {@code Venta} registrada, así que
+ * consultar las clasificaciones no obliga a recorrer todo el histórico de ventas.
+ *
+ * <p>Las especies usan un {@code ClasificacionTopK} de capacidad fija, por lo que la
+ * memoria no crece con el número de especies distintas. El importe de los clientes se
+ * lleva exacto, uno por cliente: los clientes ya están todos en memoria en el
+ * {@code RegistroClientes}, y con cientos de miles de clientes distintos una clasificación
+ * aproximada de capacidad fija acumula tanto error que deja de servir.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ClasificacionVentas {
+    /**
+     * Capacidad por defecto de la clasificación de especies.
+     */
+    public static final int CAPACIDAD_POR_DEFECTO = 100;
+
+    /**
+     * Especies ordenadas por unidades vendidas.
+     */
+    private final ClasificacionTopK<String> especies;
+
+    /**
+     * Importe gastado por cada cliente que ha comprado algo.
+     */
+    private final HashMap<Cliente, Gasto> gastos = new HashMap<>();
+
+    /**
+     * Constructor que crea clasificaciones vacías con la capacidad por defecto.
+     */
+    public ClasificacionVentas() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor que crea clasificaciones vacías con la capacidad indicada.
+     *
+     * @param capacidad Número máximo de especies que se siguen a la vez.
+     */
+    public ClasificacionVentas(int capacidad) {
+        this.especies = new ClasificacionTopK<>(capacidad);
+    }
+
+    /**
+     * Actualiza las clasificaciones con una venta nueva.
+     *
+     * @param venta La venta registrada.
+     */
+    public synchronized void registrar(Venta venta) {
+        List<Pajaro> lineas = venta.getLineasDeVenta();
+        for (int i = 0; i < lineas.size(); i++) {
+            especies.sumar(lineas.get(i).getEspecie(), 1);
+        }
+        Gasto gasto = gastos.get(venta.getCliente());
+        if (gasto == null) {
+            gasto = new Gasto();
+            gastos.put(venta.getCliente(), gasto);
+        }
+        gasto.importe += venta.calcularTotal();
+    }
+
+    /**
+     * Obtiene las especies más vendidas por unidades.
+     *
+     * @param puestos Número máximo de especies a devolver.
+     * @return Los puestos de la clasificación, de más a menos unidades.
+     */
+    public synchronized List<ClasificacionTopK.Puesto<String>> especiesMasVendidas(int puestos) {
+        return especies.primeros(puestos);
+    }
+
+    /**
+     * Obtiene los clientes que más han gastado.
+     * <p>El importe es exacto, así que los puestos tienen siempre error 0. Se eligen con un
+     * montículo de {@code puestos} elementos, en O(clientes · log puestos).
+     *
+     * @param puestos Número máximo de clientes a devolver.
+     * @return Los puestos de la clasificación, de más a menos importe.
+     */
+    public synchronized List<ClasificacionTopK.Puesto<Cliente>> mejoresClientes(int puestos) {
+        if (puestos <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<Map.Entry<Cliente, Gasto>> mejores =
+                new PriorityQueue<>(puestos + 1, (a, b) -> Double.compare(a.getValue().importe, b.getValue().importe));
+        for (Map.Entry<Cliente, Gasto> entrada : gastos.entrySet()) {
+            if (mejores.size() < puestos) {
+                mejores.add(entrada);
+            } else if (entrada.getValue().importe > mejores.peek().getValue().importe) {
+                mejores.poll();
+                mejores.add(entrada);
+            }
+        }
+        List<ClasificacionTopK.Puesto<Cliente>> resultado = new ArrayList<>(mejores.size());
+        while (!mejores.isEmpty()) {
+            Map.Entry<Cliente, Gasto> entrada = mejores.poll();
+            resultado.add(new ClasificacionTopK.Puesto<>(entrada.getKey(), entrada.getValue().importe, 0));
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    /**
+     * Importe acumulado de un cliente. Es mutable para no crear un objeto en cada venta.
+     */
+    private static final class Gasto {
+        private double importe;
+    }
+}
@@ -20,6 +20,12 @@ public class Cliente {
     private String telefono;
     private String email;
 
+    /**
+     * Indica si el cliente se ha dado de baja. Las bajas son lógicas: el cliente
+     * se conserva para que las ventas antiguas sigan apuntando a él.
+     */
+    private volatile boolean eliminado;
+
     public Cliente(String nombre, String dni, String telefono, String email) {
         this.nombre = nombre;
         this.dni = dni;
@@ -83,6 +89,18 @@ public class Cliente {
      */
     public void setEmail(String email) { this.email = email; }
 
+    /**
+     * Indica si el cliente está dado de baja.
+     *
+     * @return {@code true} si el cliente se ha eliminado del sistema.
+     */
+    public boolean isEliminado() { return eliminado; }
+
+    /**
+     * Marca el cliente como dado de baja. Solo lo usa {@code RegistroClientes}.
+     */
+    void marcarEliminado() { this.eliminado = true; }
+
     /**
      * Devuelve en cadena de texto el objeto Cliente.
      * @return Una cadena con el formato:
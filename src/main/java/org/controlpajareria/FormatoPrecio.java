@@ -0,0 +1,70 @@
+package org.controlpajareria;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Clase de utilidad que formatea importes con dos decimales.
+ * Escribe directamente en un {@code StringBuilder} y, salvo en casos raros, sin crear
+ * objetos, así que se puede usar en las operaciones más frecuentes (como cerrar una venta)
+ * en lugar de {@code String.format}.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class FormatoPrecio {
+    /**
+     * Separador decimal de la configuración regional, el mismo que usa {@code String.format}.
+     */
+    private static final char SEPARADOR = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+
+    private FormatoPrecio() {
+    }
+
+    /**
+     * Mayor importe que se redondea con aritmética de {@code long}. Por debajo de él, el error
+     * de {@code importe * 100} es de millonésimas de céntimo como mucho.
+     */
+    private static final double LIMITE_RAPIDO = 1e6;
+
+    /**
+     * Distancia al medio céntimo por debajo de la cual se redondea con {@code BigDecimal},
+     * porque el producto en coma flotante puede haber caído al otro lado del empate.
+     */
+    private static final double MARGEN_EMPATE = 1e-6;
+
+    /**
+     * Añade un importe con dos decimales al texto indicado, redondeando al céntimo.
+     * Da el mismo resultado que {@code String.format("%.2f", importe)}: redondeo hacia
+     * arriba de los empates sobre el valor decimal del importe (1.005 da "1.01"), signo
+     * en los negativos aunque se redondeen a cero, y cualquier magnitud.
+     *
+     * @param texto   El texto al que se añade el importe.
+     * @param importe El importe a formatear.
+     * @return El mismo {@code texto}, para encadenar llamadas.
+     */
+    public static StringBuilder anadir(StringBuilder texto, double importe) {
+        if (Double.isNaN(importe) || Double.isInfinite(importe)) {
+            return texto.append(importe);
+        }
+        if (Double.doubleToRawLongBits(importe) < 0) {
+            texto.append('-');
+            importe = -importe;
+        }
+        if (importe < LIMITE_RAPIDO) {
+            double escalado = importe * 100;
+            if (Math.abs(escalado - Math.floor(escalado) - 0.5) > MARGEN_EMPATE) {
+                long centimos = Math.round(escalado);
+                long decimales = centimos % 100;
+                texto.append(centimos / 100).append(SEPARADOR);
+                if (decimales < 10) texto.append('0');
+                return texto.append(decimales);
+            }
+        }
+        String redondeado = BigDecimal.valueOf(importe).setScale(2, RoundingMode.HALF_UP).toPlainString();
+        int punto = redondeado.length() - 3;
+        return texto.append(redondeado, 0, punto).append(SEPARADOR).append(redondeado, punto + 1, redondeado.length());
+    }
+}
@@ -0,0 +1,154 @@
+package org.controlpajareria;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Clase que mantiene índices ordenados del catálogo por precio y por cantidad en stock.
+ * Permite responder consultas como "pájaros entre 20 y 50" o "pájaros con stock
+ * inferior a 2" en tiempo logarítmico más el tamaño del resultado, sin recorrer
+ * todo el catálogo.
+ *
+ * <p>Cada {@code Pajaro} registrado conoce su índice y le avisa cuando cambian su
+ * precio o su cantidad, de modo que el índice siempre está al día aunque el stock
+ * se modifique desde otras partes del sistema (ventas, ventas en lote, etc.).
+ * También lleva un número de versión que cambia con cualquier modificación de un
+ * pájaro registrado, para que quien guarde datos derivados del catálogo sepa cuándo
+ * rehacerlos.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class IndiceCatalogo {
+    /**
+     * Pájaros agrupados por precio, ordenados de menor a mayor.
+     */
+    private final TreeMap<Double, LinkedHashSet<Pajaro>> porPrecio = new TreeMap<>();
+
+    /**
+     * Pájaros agrupados por cantidad en stock, ordenados de menor a mayor.
+     */
+    private final TreeMap<Integer, LinkedHashSet<Pajaro>> porCantidad = new TreeMap<>();
+
+    /**
+     * Versión del catálogo: aumenta con cada pájaro registrado o modificado.
+     */
+    private volatile long version;
+
+    /**
+     * Registra un pájaro en el índice.
+     *
+     * @param pajaro El pájaro a indexar. No debe pertenecer ya a otro índice.
+     * @throws IllegalStateException Si el pájaro ya está registrado en un índice.
+     */
+    public synchronized void agregar(Pajaro pajaro) {
+        if (pajaro.getIndice() != null) {
+            throw new IllegalStateException("El pájaro ya está registrado en un índice: " + pajaro);
+        }
+        pajaro.setIndice(this);
+        poner(porPrecio, clavePrecio(pajaro.getPrecio()), pajaro);
+        poner(porCantidad, pajaro.getCantidad(), pajaro);
+        version++;
+    }
+
+    /**
+     * Obtiene la versión actual del catálogo. Cambia cada vez que se registra un pájaro
+     * o se modifica alguno de sus datos.
+     *
+     * @return El número de versión.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Obtiene los pájaros cuyo precio está dentro del rango indicado (ambos incluidos),
+     * ordenados de menor a mayor precio.
+     *
+     * @param minimo Precio mínimo.
+     * @param maximo Precio máximo.
+     * @return La lista de pájaros dentro del rango; vacía si no hay ninguno.
+     */
+    public synchronized List<Pajaro> buscarPorRangoPrecio(double minimo, double maximo) {
+        if (minimo > maximo) return new ArrayList<>();
+        return aplanar(porPrecio.subMap(clavePrecio(minimo), true, clavePrecio(maximo), true));
+    }
+
+    /**
+     * Obtiene los pájaros cuyo stock es inferior al umbral indicado,
+     * ordenados de menor a mayor cantidad.
+     *
+     * @param umbral Cantidad a partir de la cual el stock deja de considerarse bajo.
+     * @return La lista de pájaros con stock bajo; vacía si no hay ninguno.
+     */
+    public synchronized List<Pajaro> buscarStockBajo(int umbral) {
+        return aplanar(porCantidad.headMap(umbral, false));
+    }
+
+    /**
+     * Recoloca un pájaro en el índice de precios tras cambiar su precio.
+     *
+     * @param pajaro   El pájaro modificado.
+     * @param anterior El precio que tenía antes del cambio.
+     */
+    synchronized void precioCambiado(Pajaro pajaro, double anterior) {
+        quitar(porPrecio, clavePrecio(anterior), pajaro);
+        poner(porPrecio, clavePrecio(pajaro.getPrecio()), pajaro);
+        version++;
+    }
+
+    /**
+     * Recoloca un pájaro en el índice de stock tras cambiar su cantidad.
+     *
+     * @param pajaro   El pájaro modificado.
+     * @param anterior La cantidad que tenía antes del cambio.
+     */
+    synchronized void cantidadCambiada(Pajaro pajaro, int anterior) {
+        quitar(porCantidad, anterior, pajaro);
+        poner(porCantidad, pajaro.getCantidad(), pajaro);
+        version++;
+    }
+
+    /**
+     * Anota el cambio de un dato del pájaro que no está indexado (especie o color).
+     *
+     * @param pajaro El pájaro modificado.
+     */
+    synchronized void datosCambiados(Pajaro pajaro) {
+        version++;
+    }
+
+    /**
+     * Convierte un precio en clave del índice. {@code Double} ordena -0.0 antes que 0.0,
+     * así que un precio "-0" quedaría fuera de un rango que empiece en 0; sumar 0.0
+     * convierte -0.0 en 0.0 y deja igual cualquier otro valor.
+     *
+     * @param precio El precio.
+     * @return La clave con la que se guarda en el índice.
+     */
+    private static double clavePrecio(double precio) {
+        return precio + 0.0;
+    }
+
+    private static <K> void poner(TreeMap<K, LinkedHashSet<Pajaro>> indice, K clave, Pajaro pajaro) {
+        indice.computeIfAbsent(clave, k -> new LinkedHashSet<>()).add(pajaro);
+    }
+
+    private static <K> void quitar(TreeMap<K, LinkedHashSet<Pajaro>> indice, K clave, Pajaro pajaro) {
+        LinkedHashSet<Pajaro> grupo = indice.get(clave);
+        if (grupo != null && grupo.remove(pajaro) && grupo.isEmpty()) {
+            indice.remove(clave);
+        }
+    }
+
+    private static <K> List<Pajaro> aplanar(NavigableMap<K, LinkedHashSet<Pajaro>> rango) {
+        List<Pajaro> resultado = new ArrayList<>();
+        for (Map.Entry<K, LinkedHashSet<Pajaro>> entrada : rango.entrySet()) {
+            resultado.addAll(entrada.getValue());
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,572 @@
+package org.controlpajareria;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Clase que indexa el nombre y el email de los clientes para buscarlos de forma aproximada.
+ * Los textos se normalizan (minúsculas y sin tildes) y se trocean en palabras y
+ * trigramas, de modo que "ana lopez" encuentra a "Ana López" y pequeñas erratas
+ * como "Ana Lpez" siguen dando resultado.
+ *
+ * <p>Hay dos índices invertidos: uno por palabra completa y otro por trigrama. Las
+ * palabras y los trigramas se guardan una sola vez en un diccionario que les asigna
+ * un número, y tanto las listas de cada término como los datos de cada cliente son
+ * arrays de enteros, así que el índice ocupa unos cientos de bytes por cliente.
+ *
+ * <p>Si hay suficientes clientes que contienen todas las palabras de la consulta,
+ * solo se puntúan esos (como mucho un límite de candidatos), que salen de cruzar las
+ * listas de palabras. Si no, se revisan los clientes de las listas menos frecuentes de
+ * la consulta, hasta ese límite; si ni la lista más corta cabe en él, se cruza con las
+ * siguientes para quedarse con los clientes que comparten más términos. En ambos casos
+ * el coste depende del tamaño de esas listas y no del número total de clientes. Los
+ * resultados se ordenan por similitud de trigramas, con un extra para las palabras de
+ * la consulta que aparecen completas.
+ *
+ * <p>Al quitar o modificar un cliente su entrada antigua solo se marca como borrada.
+ * Cuando las entradas borradas superan un umbral, {@link #reconstruirSiHaceFalta()}
+ * (pensado para llamarse en segundo plano) construye un índice nuevo con los clientes
+ * activos sin bloquear las búsquedas ni los cambios, y solo bloquea al final para
+ * aplicarle los cambios hechos mientras tanto y publicarlo.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class IndiceNombresClientes {
+    /**
+     * Proporción mínima de trigramas de la consulta que debe compartir un cliente
+     * para considerarse coincidencia.
+     */
+    private static final double COINCIDENCIA_MINIMA = 0.3;
+
+    /**
+     * Peso en la puntuación de las palabras de la consulta que aparecen completas.
+     */
+    private static final double PESO_PALABRAS = 0.25;
+
+    /**
+     * Número aproximado de candidatos a partir del cual se dejan de añadir listas, o se
+     * acota la más corta cruzándola con las demás.
+     */
+    static final int LIMITE_CANDIDATOS = 20_000;
+
+    /**
+     * Proporción de entradas borradas a partir de la cual se reconstruye el índice.
+     */
+    private static final double UMBRAL_RECONSTRUCCION = 0.25;
+
+    /**
+     * Por debajo de este número de entradas borradas no merece la pena reconstruir.
+     */
+    private static final int MINIMO_PARA_RECONSTRUIR = 32;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Lista creciente de números de entrada. Las entradas se numeran en orden, así
+     * que cada lista queda ordenada sin necesidad de ordenarla.
+     */
+    private static final class Lista {
+        private int[] ids = new int[2];
+        private int tamanio;
+
+        private void agregar(int id) {
+            if (tamanio == ids.length) ids = Arrays.copyOf(ids, tamanio * 2);
+            ids[tamanio++] = id;
+        }
+    }
+
+    /**
+     * Diccionario de términos (palabras o trigramas) con la lista de entradas de cada uno.
+     */
+    private static final class Diccionario {
+        private final HashMap<String, Integer> numeros = new HashMap<>();
+        private final ArrayList<Lista> listas = new ArrayList<>();
+
+        private int numerar(String termino) {
+            Integer numero = numeros.get(termino);
+            if (numero == null) {
+                numero = listas.size();
+                numeros.put(termino, numero);
+                listas.add(new Lista());
+            }
+            return numero;
+        }
+    }
+
+    private Diccionario palabras = new Diccionario();
+    private Diccionario trigramas = new Diccionario();
+
+    /**
+     * Cliente de cada entrada, o {@code null} si la entrada está borrada.
+     */
+    private Cliente[] clientes = new Cliente[16];
+
+    /**
+     * Términos de cada entrada: {@code [nº trigramas del nombre, nº trigramas del email,
+     * trigramas del nombre..., trigramas del email..., palabras...]}, cada tramo ordenado.
+     */
+    private int[][] datos = new int[16][];
+
+    private int numEntradas;
+    private int borradas;
+
+    /**
+     * Entrada vigente de cada cliente indexado.
+     */
+    private IdentityHashMap<Cliente, Integer> entradas = new IdentityHashMap<>();
+
+    /**
+     * Clientes añadidos, quitados o modificados mientras se reconstruye el índice, o
+     * {@code null} si no hay ninguna reconstrucción en marcha. Protegido por el cerrojo de escritura.
+     */
+    private HashSet<Cliente> cambios;
+
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+
+    /**
+     * Cerrojo que impide dos reconstrucciones a la vez. Ni las búsquedas ni los cambios lo usan.
+     */
+    private final Object cerrojoReconstruccion = new Object();
+
+    /**
+     * Añade un cliente al índice con su nombre y email actuales.
+     *
+     * @param cliente El cliente a indexar.
+     */
+    public void agregar(Cliente cliente) {
+        cerrojo.writeLock().lock();
+        try {
+            indexar(cliente);
+            anotarCambio(cliente);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un cliente del índice.
+     *
+     * @param cliente El cliente a desindexar.
+     */
+    public void quitar(Cliente cliente) {
+        cerrojo.writeLock().lock();
+        try {
+            desindexar(cliente);
+            anotarCambio(cliente);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vuelve a indexar un cliente tras modificar su nombre o su email.
+     *
+     * @param cliente El cliente modificado.
+     */
+    public void actualizar(Cliente cliente) {
+        cerrojo.writeLock().lock();
+        try {
+            desindexar(cliente);
+            indexar(cliente);
+            anotarCambio(cliente);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si hay suficientes entradas borradas como para reconstruir el índice.
+     *
+     * @return {@code true} si conviene llamar a {@link #reconstruirSiHaceFalta()}.
+     */
+    public boolean necesitaReconstruir() {
+        cerrojo.readLock().lock();
+        try {
+            return demasiadasBorradas();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el índice con los clientes activos si hay demasiadas entradas borradas,
+     * para liberar sus huecos en las listas y los términos que ya nadie usa.
+     * <p>El índice nuevo se construye fuera del cerrojo a partir de una copia de los
+     * clientes activos, mientras las búsquedas y los cambios siguen usando el actual. Al
+     * final se bloquea solo para volver a indexar los clientes que han cambiado mientras
+     * tanto y publicar el índice nuevo. Normalmente se ejecuta en segundo plano.
+     */
+    public void reconstruirSiHaceFalta() {
+        synchronized (cerrojoReconstruccion) {
+            Cliente[] instantanea;
+            cerrojo.writeLock().lock();
+            try {
+                if (!demasiadasBorradas()) return;
+                instantanea = Arrays.copyOf(clientes, numEntradas);
+                cambios = new HashSet<>();
+            } finally {
+                cerrojo.writeLock().unlock();
+            }
+
+            IndiceNombresClientes nuevo = new IndiceNombresClientes();
+            for (Cliente cliente : instantanea) {
+                if (cliente != null) nuevo.indexar(cliente);
+            }
+
+            cerrojo.writeLock().lock();
+            try {
+                for (Cliente cliente : cambios) {
+                    nuevo.desindexar(cliente);
+                    if (entradas.containsKey(cliente)) nuevo.indexar(cliente);
+                }
+                cambios = null;
+                palabras = nuevo.palabras;
+                trigramas = nuevo.trigramas;
+                clientes = nuevo.clientes;
+                datos = nuevo.datos;
+                numEntradas = nuevo.numEntradas;
+                borradas = nuevo.borradas;
+                entradas = nuevo.entradas;
+            } finally {
+                cerrojo.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Busca los clientes cuyo nombre o email se parecen más al texto indicado.
+     *
+     * @param texto  El texto a buscar (nombre, parte del nombre o email).
+     * @param maximo Número máximo de resultados.
+     * @return Los clientes encontrados, del más al menos parecido; vacía si no hay coincidencias.
+     */
+    public List<Cliente> buscar(String texto, int maximo) {
+        String[] palabrasConsulta = palabras(texto);
+        List<String> trigramasConsulta = new ArrayList<>();
+        for (String palabra : palabrasConsulta) {
+            trocear(palabra, trigramasConsulta);
+        }
+        if (trigramasConsulta.isEmpty() || maximo <= 0) return new ArrayList<>();
+        int minimo = Math.max(1, (int) Math.ceil(trigramasConsulta.size() * COINCIDENCIA_MINIMA));
+
+        cerrojo.readLock().lock();
+        try {
+            List<Lista> listasPalabras = new ArrayList<>();
+            int[] consultaPalabras = numerosConocidos(palabras, Arrays.asList(palabrasConsulta), listasPalabras);
+            List<Lista> listasTrigramas = new ArrayList<>();
+            int[] consulta = numerosConocidos(trigramas, trigramasConsulta, listasTrigramas);
+
+            // Si hay suficientes clientes que contienen todas las palabras de la consulta tal
+            // cual, basta con puntuar esos: salen de cruzar las listas de palabras, mucho más
+            // cortas que cualquiera de ellas por separado. Como todos son coincidencias exactas,
+            // si aun así son demasiados solo se puntúan los primeros.
+            int[] candidatos = null;
+            int numCandidatos = 0;
+            if (listasPalabras.size() == palabrasConsulta.length) {
+                listasPalabras.sort(Comparator.comparingInt(l -> l.tamanio));
+                candidatos = Arrays.copyOf(listasPalabras.get(0).ids, listasPalabras.get(0).tamanio);
+                numCandidatos = candidatos.length;
+                for (int i = 1; i < listasPalabras.size() && numCandidatos > 0; i++) {
+                    numCandidatos = cruzar(candidatos, numCandidatos, listasPalabras.get(i));
+                }
+                numCandidatos = Math.min(numCandidatos, LIMITE_CANDIDATOS);
+                if (activos(candidatos, numCandidatos) < maximo) candidatos = null;
+            }
+
+            if (candidatos == null) {
+                // Todo cliente con al menos 'minimo' trigramas en común aparece en alguna de
+                // las (n - minimo + 1) listas más cortas, así que basta con recorrer esas.
+                // Los trigramas que no existen (las erratas) cuentan como listas vacías. Las
+                // listas de las palabras exactas también se recorren, y suelen ser las más
+                // cortas. Si en total son muy largas nos quedamos con las más raras; si ni la
+                // más corta cabe en el límite, se acota cruzándola con las siguientes.
+                listasTrigramas.sort(Comparator.comparingInt(l -> l.tamanio));
+                List<Lista> fuentes = new ArrayList<>(listasPalabras);
+                int vacias = trigramasConsulta.size() - listasTrigramas.size();
+                for (int i = 0; i < listasTrigramas.size() && i + vacias < trigramasConsulta.size() - minimo + 1; i++) {
+                    fuentes.add(listasTrigramas.get(i));
+                }
+                fuentes.sort(Comparator.comparingInt(l -> l.tamanio));
+
+                if (!fuentes.isEmpty() && fuentes.get(0).tamanio > LIMITE_CANDIDATOS) {
+                    // Ni la lista más corta cabe en el límite: se cruza con las demás listas
+                    // de la consulta, de la más corta a la más larga, mientras sigan quedando
+                    // al menos 'maximo' clientes activos, que son los que comparten más
+                    // términos con la consulta.
+                    Lista primera = fuentes.get(0);
+                    List<Lista> resto = new ArrayList<>(listasPalabras);
+                    resto.addAll(listasTrigramas);
+                    resto.remove(primera);
+                    resto.sort(Comparator.comparingInt(l -> l.tamanio));
+                    candidatos = Arrays.copyOf(primera.ids, primera.tamanio);
+                    numCandidatos = candidatos.length;
+                    int[] cruce = new int[numCandidatos];
+                    for (int i = 0; i < resto.size() && numCandidatos > LIMITE_CANDIDATOS; i++) {
+                        System.arraycopy(candidatos, 0, cruce, 0, numCandidatos);
+                        int quedan = cruzar(cruce, numCandidatos, resto.get(i));
+                        if (activos(cruce, quedan) < maximo) continue;
+                        int[] temporal = candidatos;
+                        candidatos = cruce;
+                        cruce = temporal;
+                        numCandidatos = quedan;
+                    }
+                } else {
+                    int usadas = 0;
+                    for (Lista lista : fuentes) {
+                        if (numCandidatos > 0 && numCandidatos + lista.tamanio > LIMITE_CANDIDATOS) break;
+                        numCandidatos += lista.tamanio;
+                        usadas++;
+                    }
+                    candidatos = new int[numCandidatos];
+                    numCandidatos = 0;
+                    for (int i = 0; i < usadas; i++) {
+                        Lista lista = fuentes.get(i);
+                        System.arraycopy(lista.ids, 0, candidatos, numCandidatos, lista.tamanio);
+                        numCandidatos += lista.tamanio;
+                    }
+                    // Cada lista ya está ordenada; solo hay que ordenar si se han juntado varias.
+                    if (usadas > 1) Arrays.sort(candidatos, 0, numCandidatos);
+                }
+            }
+
+
+            PriorityQueue<Coincidencia> mejores = new PriorityQueue<>(maximo + 1, Comparator.comparingDouble(c -> c.puntuacion));
+            for (int i = 0; i < numCandidatos; i++) {
+                int id = candidatos[i];
+                if ((i > 0 && id == candidatos[i - 1]) || clientes[id] == null) continue;
+                int[] entrada = datos[id];
+                int finNombre = 2 + entrada[0];
+                int finEmail = finNombre + entrada[1];
+                int enNombre = comunes(consulta, entrada, 2, finNombre);
+                int enEmail = comunes(consulta, entrada, finNombre, finEmail);
+                if (Math.max(enNombre, enEmail) < minimo) continue;
+                double puntuacion = Math.max(similitud(trigramasConsulta.size(), entrada[0], enNombre),
+                        similitud(trigramasConsulta.size(), entrada[1], enEmail))
+                        + PESO_PALABRAS * comunes(consultaPalabras, entrada, finEmail, entrada.length) / palabrasConsulta.length;
+                if (mejores.size() == maximo && puntuacion <= mejores.peek().puntuacion) continue;
+                mejores.add(new Coincidencia(clientes[id], puntuacion));
+                if (mejores.size() > maximo) mejores.poll();
+            }
+
+            List<Cliente> resultado = new ArrayList<>(mejores.size());
+            while (!mejores.isEmpty()) {
+                resultado.add(mejores.poll().cliente);
+            }
+            Collections.reverse(resultado);
+            return resultado;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza un texto para compararlo: quita tildes y lo pasa a minúsculas.
+     *
+     * @param texto El texto a normalizar.
+     * @return El texto normalizado, o cadena vacía si es {@code null}.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) return "";
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Obtiene las palabras distintas de un texto normalizado.
+     *
+     * @param texto El texto a trocear.
+     * @return Las palabras del texto, sin repetir y en el orden en que aparecen.
+     */
+    static String[] palabras(String texto) {
+        return Arrays.stream(SEPARADORES.split(normalizar(texto)))
+                .filter(palabra -> !palabra.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Añade los trigramas de una palabra que aún no estén en la lista. La palabra se
+     * rodea de marcas de inicio y fin ({@code $}) para que las palabras cortas también
+     * generen trigramas.
+     *
+     * @param palabra   La palabra normalizada.
+     * @param resultado La lista donde se añaden los trigramas.
+     */
+    static void trocear(String palabra, List<String> resultado) {
+        String marcada = "$" + palabra + "$";
+        for (int i = 0; i + 3 <= marcada.length(); i++) {
+            String trigrama = marcada.substring(i, i + 3);
+            if (!resultado.contains(trigrama)) resultado.add(trigrama);
+        }
+    }
+
+    private void indexar(Cliente cliente) {
+        String[] palabrasNombre = palabras(cliente.getNombre());
+        String[] palabrasEmail = palabras(cliente.getEmail());
+        int[] nombre = numerarTrigramas(palabrasNombre);
+        int[] email = numerarTrigramas(palabrasEmail);
+        int[] todas = new int[palabrasNombre.length + palabrasEmail.length];
+        for (int i = 0; i < palabrasNombre.length; i++) {
+            todas[i] = palabras.numerar(palabrasNombre[i]);
+        }
+        for (int i = 0; i < palabrasEmail.length; i++) {
+            todas[palabrasNombre.length + i] = palabras.numerar(palabrasEmail[i]);
+        }
+        todas = Arrays.stream(todas).sorted().distinct().toArray();
+
+        int[] entrada = new int[2 + nombre.length + email.length + todas.length];
+        entrada[0] = nombre.length;
+        entrada[1] = email.length;
+        System.arraycopy(nombre, 0, entrada, 2, nombre.length);
+        System.arraycopy(email, 0, entrada, 2 + nombre.length, email.length);
+        System.arraycopy(todas, 0, entrada, 2 + nombre.length + email.length, todas.length);
+
+        if (numEntradas == clientes.length) {
+            clientes = Arrays.copyOf(clientes, numEntradas * 2);
+            datos = Arrays.copyOf(datos, numEntradas * 2);
+        }
+        int id = numEntradas++;
+        clientes[id] = cliente;
+        datos[id] = entrada;
+        entradas.put(cliente, id);
+
+        // Un trigrama presente en el nombre y en el email solo se apunta una vez.
+        int[] enAlguno = Arrays.stream(entrada, 2, 2 + nombre.length + email.length).sorted().distinct().toArray();
+        for (int trigrama : enAlguno) {
+            trigramas.listas.get(trigrama).agregar(id);
+        }
+        for (int palabra : todas) {
+            palabras.listas.get(palabra).agregar(id);
+        }
+    }
+
+    private void desindexar(Cliente cliente) {
+        Integer id = entradas.remove(cliente);
+        if (id == null) return;
+        clientes[id] = null;
+        datos[id] = null;
+        borradas++;
+    }
+
+    /**
+     * Apunta un cliente cambiado si hay una reconstrucción en marcha. Debe llamarse con el
+     * cerrojo de escritura adquirido.
+     */
+    private void anotarCambio(Cliente cliente) {
+        if (cambios != null) cambios.add(cliente);
+    }
+
+    private boolean demasiadasBorradas() {
+        return borradas >= MINIMO_PARA_RECONSTRUIR && borradas >= numEntradas * UMBRAL_RECONSTRUCCION;
+    }
+
+    private int[] numerarTrigramas(String[] palabras) {
+        List<String> lista = new ArrayList<>();
+        for (String palabra : palabras) {
+            trocear(palabra, lista);
+        }
+        return lista.stream().mapToInt(trigramas::numerar).sorted().distinct().toArray();
+    }
+
+    /**
+     * Obtiene los números ordenados de los términos de la consulta que existen en el
+     * diccionario y añade sus listas a {@code listas}. Los desconocidos no tienen lista.
+     */
+    private static int[] numerosConocidos(Diccionario diccionario, List<String> terminos, List<Lista> listas) {
+        int[] numeros = new int[terminos.size()];
+        int n = 0;
+        for (String termino : terminos) {
+            Integer numero = diccionario.numeros.get(termino);
+            if (numero == null) continue;
+            Lista lista = diccionario.listas.get(numero);
+            if (lista.tamanio > 0) listas.add(lista);
+            numeros[n++] = numero;
+        }
+        numeros = Arrays.copyOf(numeros, n);
+        Arrays.sort(numeros);
+        return numeros;
+    }
+
+    /**
+     * Deja en las primeras posiciones de {@code candidatos} solo los que también están
+     * en la lista indicada. Ambos deben estar ordenados.
+     *
+     * @return El número de candidatos que quedan.
+     */
+    private static int cruzar(int[] candidatos, int numCandidatos, Lista lista) {
+        int quedan = 0;
+        int j = 0;
+        for (int i = 0; i < numCandidatos && j < lista.tamanio; i++) {
+            while (j < lista.tamanio && lista.ids[j] < candidatos[i]) j++;
+            if (j < lista.tamanio && lista.ids[j] == candidatos[i]) candidatos[quedan++] = candidatos[i];
+        }
+        return quedan;
+    }
+
+    /**
+     * Cuenta las entradas no borradas entre las primeras {@code numCandidatos} indicadas.
+     */
+    private int activos(int[] candidatos, int numCandidatos) {
+        int activos = 0;
+        for (int i = 0; i < numCandidatos; i++) {
+            if (clientes[candidatos[i]] != null) activos++;
+        }
+        return activos;
+    }
+
+    /**
+     * Cuenta los números comunes entre la consulta y un tramo ordenado de una entrada.
+     */
+    private static int comunes(int[] consulta, int[] entrada, int desde, int hasta) {
+        int comunes = 0;
+        int i = 0;
+        int j = desde;
+        while (i < consulta.length && j < hasta) {
+            if (consulta[i] < entrada[j]) {
+                i++;
+            } else if (consulta[i] > entrada[j]) {
+                j++;
+            } else {
+                comunes++;
+                i++;
+                j++;
+            }
+        }
+        return comunes;
+    }
+
+    /**
+     * Coeficiente de Dice entre la consulta y un campo: 1 si son iguales, 0 si no comparten nada.
+     */
+    private static double similitud(int tamanioConsulta, int tamanioCampo, int comunes) {
+        if (tamanioCampo == 0) return 0;
+        return 2.0 * comunes / (tamanioConsulta + tamanioCampo);
+    }
+
+    /**
+     * Cliente candidato con su puntuación de similitud.
+     */
+    private static final class Coincidencia {
+        private final Cliente cliente;
+        private final double puntuacion;
+
+        private Coincidencia(Cliente cliente, double puntuacion) {
+            this.cliente = cliente;
+            this.puntuacion = puntuacion;
+        }
+    }
+}
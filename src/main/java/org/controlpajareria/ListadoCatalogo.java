@@ -0,0 +1,75 @@
+package org.controlpajareria;
+
+import java.util.List;
+
+/**
+ * Clase que guarda ya preparado el texto del listado numerado del catálogo.
+ * Durante una venta el listado se muestra antes de cada línea, pero el catálogo casi
+ * nunca cambia entre una y otra, así que el texto se construye una sola vez y se
+ * reutiliza mientras no cambie la versión del {@code IndiceCatalogo}.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ListadoCatalogo {
+    /**
+     * Catálogo que se lista.
+     */
+    private final List<Pajaro> catalogo;
+
+    /**
+     * Índice del catálogo, que avisa de cualquier cambio en los pájaros.
+     */
+    private final IndiceCatalogo indice;
+
+    /**
+     * Texto del listado, o {@code null} si aún no se ha construido.
+     */
+    private String texto;
+
+    /**
+     * Versión del índice y tamaño del catálogo con los que se construyó {@code texto}.
+     */
+    private long version;
+    private int tamanio;
+
+    /**
+     * Constructor que crea el listado de un catálogo.
+     *
+     * @param catalogo El catálogo a listar.
+     * @param indice   El índice en el que están registrados los pájaros del catálogo.
+     */
+    public ListadoCatalogo(List<Pajaro> catalogo, IndiceCatalogo indice) {
+        this.catalogo = catalogo;
+        this.indice = indice;
+    }
+
+    /**
+     * Obtiene el texto del listado, con una línea por pájaro numerada desde 1.
+     * Solo se vuelve a construir si el catálogo ha cambiado desde la última vez.
+     *
+     * @return El texto del listado, terminado en salto de línea.
+     */
+    public synchronized String getTexto() {
+        long actual = indice.getVersion();
+        if (texto == null || actual != version || catalogo.size() != tamanio) {
+            texto = construir();
+            version = actual;
+            tamanio = catalogo.size();
+        }
+        return texto;
+    }
+
+    private String construir() {
+        String salto = System.lineSeparator();
+        if (catalogo.isEmpty()) {
+            return "No hay pájaros en el catálogo." + salto;
+        }
+        StringBuilder listado = new StringBuilder(salto).append("--- CATÁLOGO DE PÁJAROS ---").append(salto);
+        for (int i = 0; i < catalogo.size(); i++) {
+            listado.append(i + 1).append(". ").append(catalogo.get(i)).append(salto);
+        }
+        return listado.toString();
+    }
+}
@@ -1,6 +1,14 @@
 package org.controlpajareria;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 
 /**
@@ -17,7 +25,25 @@ import java.util.*;
  * </ul>
  *
  * <p>Los datos se almacenan en listas estáticas durante la ejecución (aún no a fichero o BBDD).
- * Al inicio, se cargan datos de prueba para facilitar la demostración.
+ * Al inicio, se cargan datos de prueba para facilitar la demostración. Las ventas de
+ * periodos cerrados se pueden archivar en disco para liberar memoria.
+ *
+ * <p>Propiedades del sistema admitidas:
+ * <ul>
+ *   <li>{@code pajareria.archivo.dir}: directorio del archivo histórico (por defecto {@code archivo}).</li>
+ *   <li>{@code pajareria.archivo.dias}: antigüedad en días a partir de la cual se archiva una venta
+ *       (por defecto 365).</li>
+ *   <li>{@code pajareria.tiempos}: si vale {@code true}, muestra cuánto se tarda desde el inicio
+ *       hasta el primer menú y hasta la primera venta.</li>
+ * </ul>
+ *
+ * <p>Argumentos de línea de comandos admitidos:
+ * <ul>
+ *   <li>{@code --arranque-rapido}: carga solo el catálogo y los clientes antes de mostrar el menú;
+ *       el histórico de ventas archivadas se abre en segundo plano.</li>
+ *   <li>{@code --entrenamiento}: ejecuta un recorrido automático por las operaciones principales
+ *       y termina. Se usa para generar el archivo AppCDS de arranque rápido.</li>
+ * </ul>
  *
  * @author shaeongit
  * @version 1.0
@@ -31,10 +57,16 @@ public class Main {
     private static final Scanner scanner = new Scanner(System.in);
 
     /**
-     * Lista que almacena todos los clientes registrados en el sistema.
-     * Se inicializa vacía y se alimenta mediante el menú de gestión.
+     * Registro que almacena todos los clientes registrados en el sistema.
+     * Se inicializa vacío y se alimenta mediante el menú de gestión.
+     * Las bajas son lógicas y se compactan en segundo plano.
      */
-    private static final ArrayList<Cliente> clientes = new ArrayList<>();
+    private static final RegistroClientes clientes = new RegistroClientes();
+
+    /**
+     * Número máximo de clientes que se muestran en una búsqueda por nombre.
+     */
+    private static final int MAX_RESULTADOS_BUSQUEDA = 10;
 
     /**
      * Catálogo de pájaros disponibles para la venta.
@@ -43,22 +75,132 @@ public class Main {
     private static final ArrayList<Pajaro> catalogo = new ArrayList<>();
 
     /**
-     * Lista que registra todas las ventas realizadas durante la sesión.
+     * Índices ordenados del catálogo por precio y por stock.
+     * Se mantienen al día automáticamente cuando cambian el precio o la cantidad de un pájaro.
+     */
+    private static final IndiceCatalogo indiceCatalogo = new IndiceCatalogo();
+
+    /**
+     * Texto del listado del catálogo, que solo se rehace cuando cambia algún pájaro.
+     */
+    private static final ListadoCatalogo listadoCatalogo = new ListadoCatalogo(catalogo, indiceCatalogo);
+
+    /**
+     * Cesta reutilizada por todas las ventas del menú, para no crear objetos por cada línea.
+     */
+    private static final CestaVenta cesta = new CestaVenta();
+
+    /**
+     * Texto reutilizado para el mensaje de venta registrada.
+     */
+    private static final StringBuilder mensajeVenta = new StringBuilder();
+
+    /**
+     * Histórico de solo añadir que registra todas las ventas realizadas durante la sesión.
      * Cada {@code Venta} está asociada a un cliente, una fecha y una lista de pájaros vendidos.
+     * Los informes leen instantáneas del histórico, así que no se bloquean las nuevas ventas.
+     */
+    private static final RegistroVentas ventas = new RegistroVentas();
+
+    /**
+     * Clasificaciones en vivo de especies más vendidas y mejores clientes.
+     * Se actualizan automáticamente con cada venta registrada.
+     */
+    private static final ClasificacionVentas clasificacion = new ClasificacionVentas();
+
+    /**
+     * Número de puestos que se muestran en cada clasificación.
+     */
+    private static final int PUESTOS_CLASIFICACION = 10;
+
+    static {
+        ventas.suscribir(clasificacion::registrar);
+    }
+
+    /**
+     * Archivo en disco con las ventas de periodos cerrados.
+     * Se abre al arrancar, o en segundo plano en el modo de arranque rápido. Si no se pudo
+     * abrir, guarda el error hasta que {@link #obtenerArchivo()} lo avisa desde el menú.
+     */
+    private static CompletableFuture<ArchivoVentas> archivo = CompletableFuture.completedFuture(null);
+
+    /**
+     * Antigüedad en días a partir de la cual una venta se archiva.
      */
-    private static final ArrayList<Venta> ventas = new ArrayList<>();
+    private static final int DIAS_ARCHIVO = Integer.getInteger("pajareria.archivo.dias", ArchivoVentas.DIAS_POR_DEFECTO);
+
+    /**
+     * Instante de arranque (en nanosegundos) para medir los tiempos de inicio.
+     */
+    private static final long INICIO_NANOS = System.nanoTime();
+
+    /**
+     * Indica si se deben mostrar los tiempos de arranque.
+     */
+    private static final boolean MOSTRAR_TIEMPOS = Boolean.getBoolean("pajareria.tiempos");
+
+    private static boolean primerMenuMedido;
+    private static boolean primeraVentaMedida;
 
     /**
      * Punto de entrada principal de la aplicación.
      * Inicializa los datos de prueba y muestra el menú principal.
      *
-     * @param args Argumentos de línea de comandos (no utilizados en esta aplicación).
+     * @param args Argumentos de línea de comandos: {@code --arranque-rapido} o {@code --entrenamiento}.
      */
     public static void main(String[] args) {
+        List<String> opciones = Arrays.asList(args);
+        if (opciones.contains("--entrenamiento")) {
+            entrenar();
+            return;
+        }
+        if (opciones.contains("--arranque-rapido")) {
+            archivo = CompletableFuture.supplyAsync(Main::abrirArchivo);
+        } else {
+            archivo = CompletableFuture.supplyAsync(Main::abrirArchivo, Runnable::run);
+            obtenerArchivo();
+        }
         cargarDatosPrueba();
         mostrarMenu();
     }
 
+    /**
+     * Abre el archivo histórico de ventas del directorio configurado.
+     * <p>No escribe nada por pantalla, porque puede ejecutarse en segundo plano mientras
+     * se dibuja el menú; el error queda en {@link #archivo} y se avisa al pedirlo.
+     *
+     * @return El archivo abierto.
+     * @throws CompletionException Si no se pudo abrir, con la {@code IOException} como causa.
+     */
+    private static ArchivoVentas abrirArchivo() {
+        try {
+            return new ArchivoVentas(Path.of(System.getProperty("pajareria.archivo.dir", "archivo")), clientes::buscar);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Obtiene el archivo histórico de ventas, esperando a que termine de abrirse si
+     * se está cargando en segundo plano.
+     * <p>Si no se pudo abrir, avisa del error la primera vez y la aplicación sigue
+     * funcionando sin archivo.
+     *
+     * @return El archivo, o {@code null} si no está disponible.
+     */
+    private static ArchivoVentas obtenerArchivo() {
+        if (!archivo.isDone()) {
+            System.out.println("Cargando el histórico de ventas...");
+        }
+        try {
+            return archivo.join();
+        } catch (CompletionException e) {
+            System.out.println("Aviso: no se pudo abrir el archivo de ventas: " + e.getCause().getMessage());
+            archivo = CompletableFuture.completedFuture(null);
+            return null;
+        }
+    }
+
     /**
      * Muestra el menú principal y gestiona la navegación entre las distintas funcionalidades
      * del sistema mediante un bucle controlado por selección numérica + intro.
@@ -82,6 +224,10 @@ public class Main {
             System.out.println("4. Mostrar ventas");
             System.out.println("5. Salir");
             System.out.print("Seleccione una opción: ");
+            if (!primerMenuMedido) {
+                primerMenuMedido = true;
+                mostrarTiempo("primer menú");
+            }
 
             opcion = getIntInput();
 
@@ -100,7 +246,7 @@ public class Main {
 
     /**
      * Submenú para gestionar operaciones relacionadas con clientes.
-     * Permite dar de alta, baja, modificar, buscar y listar clientes.
+     * Permite dar de alta, baja, modificar, buscar (por DNI o por nombre) y listar clientes.
      */
     private static void menuClientes() {
         int opcion;
@@ -110,8 +256,9 @@ public class Main {
             System.out.println("2. Baja de cliente");
             System.out.println("3. Modificación de cliente");
             System.out.println("4. Búsqueda por DNI");
-            System.out.println("5. Listado de clientes");
-            System.out.println("6. Volver");
+            System.out.println("5. Búsqueda por nombre o email");
+            System.out.println("6. Listado de clientes");
+            System.out.println("7. Volver");
             System.out.print("Seleccione: ");
             opcion = getIntInput();
 
@@ -120,11 +267,12 @@ public class Main {
                 case 2 -> bajaCliente();
                 case 3 -> modificarCliente();
                 case 4 -> buscarClientePorDNI();
-                case 5 -> listadoClientes();
-                case 6 -> System.out.println("Volviendo...");
+                case 5 -> buscarClientePorNombre();
+                case 6 -> listadoClientes();
+                case 7 -> System.out.println("Volviendo...");
                 default -> System.out.println("Opción no válida.");
             }
-        } while (opcion != 6);
+        } while (opcion != 7);
     }
 
     /**
@@ -145,20 +293,23 @@ public class Main {
         System.out.print("Email: ");
         String email = scanner.nextLine();
 
-        clientes.add(new Cliente(nombre, dni, telefono, email));
-        System.out.println("Cliente registrado con éxito.");
+        if (clientes.alta(new Cliente(nombre, dni, telefono, email))) {
+            System.out.println("Cliente registrado con éxito.");
+        } else {
+            System.out.println("Error: Ya existe un cliente con ese DNI.");
+        }
     }
 
     /**
      * Elimina un cliente del sistema utilizando su DNI como identificador.
+     * <p>La baja es lógica: el cliente deja de estar disponible, pero sus ventas
+     * anteriores lo siguen mostrando marcado como dado de baja.
      * <p>Muestra un mensaje de confirmación o error según si el cliente existe.
      */
     private static void bajaCliente() {
         System.out.print("DNI del cliente a eliminar: ");
         String dni = scanner.nextLine();
-        Cliente cliente = buscarClientePorDNI(dni, false);
-        if (cliente != null) {
-            clientes.remove(cliente);
+        if (clientes.baja(dni) != null) {
             System.out.println("Cliente eliminado.");
         } else {
             System.out.println("Cliente no encontrado.");
@@ -187,6 +338,7 @@ public class Main {
         String email = scanner.nextLine();
         if (!email.trim().isEmpty()) cliente.setEmail(email);
 
+        clientes.actualizar(cliente);
         System.out.println("Cliente actualizado.");
     }
 
@@ -204,20 +356,34 @@ public class Main {
     }
 
     /**
-     * Busca un cliente en la lista por su DNI (ignorando mayúsculas).
+     * Busca un cliente activo por su DNI (ignorando mayúsculas).
      *
      * @param dni     El DNI a buscar.
      * @param mostrar Si es {@code true}, imprime los datos del cliente encontrado.
      * @return El objeto {@code Cliente} si se encuentra; {@code null} en caso contrario.
      */
     private static Cliente buscarClientePorDNI(String dni, boolean mostrar) {
-        for (Cliente c : clientes) {
-            if (c.getDni().equalsIgnoreCase(dni)) {
-                if (mostrar) System.out.println(c);
-                return c;
+        Cliente c = clientes.buscar(dni);
+        if (c != null && mostrar) System.out.println(c);
+        return c;
+    }
+
+    /**
+     * Busca clientes por nombre o email y muestra las mejores coincidencias.
+     * <p>No distingue mayúsculas ni tildes y tolera pequeñas erratas, por lo que
+     * "ana lopez" encuentra a "Ana López".
+     */
+    private static void buscarClientePorNombre() {
+        System.out.print("Nombre o email a buscar: ");
+        String texto = scanner.nextLine();
+        List<Cliente> encontrados = clientes.buscarPorNombre(texto, MAX_RESULTADOS_BUSQUEDA);
+        if (encontrados.isEmpty()) {
+            System.out.println("No se encontraron clientes.");
+        } else {
+            for (Cliente c : encontrados) {
+                System.out.println(c);
             }
         }
-        return null;
     }
 
     /**
@@ -225,11 +391,11 @@ public class Main {
      * <p>Si no hay clientes, muestra un mensaje informativo.
      */
     private static void listadoClientes() {
-        if (clientes.isEmpty()) {
+        if (clientes.estaVacio()) {
             System.out.println("No hay clientes registrados.");
         } else {
             System.out.println("\n--- LISTADO DE CLIENTES ---");
-            for (Cliente c : clientes) {
+            for (Cliente c : clientes.listar()) {
                 System.out.println(c);
             }
         }
@@ -239,7 +405,8 @@ public class Main {
 
     /**
      * Submenú para gestionar el catálogo de pájaros.
-     * Permite agregar pájaros, listarlos o buscar por especie.
+     * Permite agregar pájaros, listarlos, buscar por especie o por rango de precio
+     * y consultar los pájaros con stock bajo.
      */
     private static void menuPajaros() {
         int opcion;
@@ -248,7 +415,9 @@ public class Main {
             System.out.println("1. Alta de pájaro");
             System.out.println("2. Listado del catálogo");
             System.out.println("3. Búsqueda por especie");
-            System.out.println("4. Volver");
+            System.out.println("4. Búsqueda por rango de precio");
+            System.out.println("5. Alerta de stock bajo");
+            System.out.println("6. Volver");
             System.out.print("Seleccione: ");
             opcion = getIntInput();
 
@@ -256,10 +425,12 @@ public class Main {
                 case 1 -> altaPajaro();
                 case 2 -> listadoPajaros();
                 case 3 -> buscarPajaroPorEspecie();
-                case 4 -> System.out.println("Volviendo...");
+                case 4 -> buscarPajaroPorRangoPrecio();
+                case 5 -> alertaStockBajo();
+                case 6 -> System.out.println("Volviendo...");
                 default -> System.out.println("Opción no válida.");
             }
-        } while (opcion != 4);
+        } while (opcion != 6);
     }
 
     /**
@@ -275,23 +446,30 @@ public class Main {
         System.out.print("Precio: ");
         int cantidad = getIntInput();
 
-        catalogo.add(new Pajaro(especie, color, precio, cantidad));
+        agregarAlCatalogo(new Pajaro(especie, color, precio, cantidad));
         System.out.println("Pájaro agregado al catálogo.");
     }
 
+    /**
+     * Añade un pájaro al catálogo y lo registra en los índices de precio y stock.
+     * <p>El catálogo se bloquea igual que al procesar un lote de pedidos, que puede
+     * estar recorriéndolo desde otro hilo.
+     *
+     * @param pajaro El pájaro a añadir.
+     */
+    private static void agregarAlCatalogo(Pajaro pajaro) {
+        synchronized (catalogo) {
+            catalogo.add(pajaro);
+        }
+        indiceCatalogo.agregar(pajaro);
+    }
+
     /**
      * Muestra todos los pájaros disponibles en el catálogo con numeración.
      * <p>Si el catálogo está vacío, muestra un mensaje informativo.
      */
     private static void listadoPajaros() {
-        if (catalogo.isEmpty()) {
-            System.out.println("No hay pájaros en el catálogo.");
-        } else {
-            System.out.println("\n--- CATÁLOGO DE PÁJAROS ---");
-            for (int i = 0; i < catalogo.size(); i++) {
-                System.out.println((i + 1) + ". " + catalogo.get(i));
-            }
-        }
+        System.out.print(listadoCatalogo.getTexto());
     }
 
     /**
@@ -313,13 +491,53 @@ public class Main {
         }
     }
 
+    /**
+     * Muestra los pájaros cuyo precio está entre un mínimo y un máximo (ambos incluidos),
+     * ordenados de menor a mayor precio.
+     * <p>Usa el índice por precio, sin recorrer todo el catálogo.
+     */
+    private static void buscarPajaroPorRangoPrecio() {
+        System.out.print("Precio mínimo: ");
+        double minimo = getDoubleInput();
+        System.out.print("Precio máximo: ");
+        double maximo = getDoubleInput();
+        List<Pajaro> encontrados = indiceCatalogo.buscarPorRangoPrecio(minimo, maximo);
+        if (encontrados.isEmpty()) {
+            System.out.println("No hay pájaros en ese rango de precio.");
+        } else {
+            for (Pajaro p : encontrados) {
+                System.out.println(p);
+            }
+        }
+    }
+
+    /**
+     * Muestra los pájaros con stock inferior al umbral indicado, de menor a mayor cantidad.
+     * <p>Usa el índice por cantidad, sin recorrer todo el catálogo.
+     */
+    private static void alertaStockBajo() {
+        System.out.print("Mostrar pájaros con stock inferior a: ");
+        int umbral = getIntInput();
+        List<Pajaro> encontrados = indiceCatalogo.buscarStockBajo(umbral);
+        if (encontrados.isEmpty()) {
+            System.out.println("No hay pájaros con stock bajo.");
+        } else {
+            System.out.println("\n--- ALERTA DE STOCK BAJO ---");
+            for (Pajaro p : encontrados) {
+                System.out.println(p);
+            }
+        }
+    }
+
     // --- REALIZAR VENTA ---
     /**
      * Permite realizar una nueva venta seleccionando un cliente y uno o más pájaros del catálogo.
-     * <p>La venta se registra solo si se añade al menos un pájaro.
+     * <p>La venta se registra solo si se añade al menos un pájaro. Las líneas se acumulan
+     * en una {@code CestaVenta} reutilizada y el listado del catálogo sale ya preparado,
+     * así que añadir pájaros y cerrar la venta solo crea la {@code Venta} registrada.
      */
     private static void realizarVenta() {
-        if (clientes.isEmpty()) {
+        if (clientes.estaVacio()) {
             System.out.println("No hay clientes registrados. Registre uno primero.");
             return;
         }
@@ -336,7 +554,7 @@ public class Main {
             return;
         }
 
-        Venta venta = new Venta(cliente);
+        cesta.vaciar();
         boolean continuar = true;
 
         while (continuar) {
@@ -347,26 +565,46 @@ public class Main {
             if (num == 0) {
                 continuar = false;
             } else if (num > 0 && num <= catalogo.size()) {
-                venta.agregarPajaro(catalogo.get(num - 1));
+                cesta.agregar(catalogo.get(num - 1));
                 System.out.println("Pájaro añadido a la venta.");
             } else {
                 System.out.println("Número no válido.");
             }
         }
 
-        if (!venta.getLineasDeVenta().isEmpty()) {
-            ventas.add(venta);
-            System.out.println("Venta registrada. Total: $" + String.format("%.2f", venta.calcularTotal()));
+        if (!cesta.estaVacia()) {
+            Venta venta = cesta.cerrar(cliente);
+            ventas.registrar(venta);
+            mensajeVenta.setLength(0);
+            System.out.println(FormatoPrecio.anadir(mensajeVenta.append("Venta registrada. Total: $"), venta.calcularTotal()));
+            if (!primeraVentaMedida) {
+                primeraVentaMedida = true;
+                mostrarTiempo("primera venta");
+            }
         } else {
             System.out.println("Venta cancelada: no se añadieron pájaros.");
         }
     }
 
+    /**
+     * Realiza en bloque las ventas de un lote de pedidos (por ejemplo, los recibidos
+     * desde la tienda web) sobre las listas del sistema.
+     * <p>Delega en {@code ProcesadorPedidos}, que resuelve clientes y artículos en una
+     * sola pasada y agrupa las actualizaciones de stock por artículo.
+     *
+     * @param pedidos Lista de pedidos a procesar.
+     * @return La lista de resultados, uno por pedido y en el mismo orden.
+     */
+    static List<ResultadoPedido> realizarVentasEnLote(List<Pedido> pedidos) {
+        return new ProcesadorPedidos(clientes, catalogo, ventas).procesar(pedidos);
+    }
+
     // --- MOSTRAR VENTAS ---
 
     /**
      * Submenú para consultar el historial de ventas.
-     * Permite ver todas las ventas, filtrar por cliente o ver totales.
+     * Permite ver todas las ventas, filtrar por cliente, ver totales, consultar
+     * las clasificaciones de especies y clientes, y archivar o consultar ventas antiguas.
      */
     private static void menuVentas() {
         int opcion;
@@ -375,7 +613,10 @@ public class Main {
             System.out.println("1. Mostrar todas las ventas");
             System.out.println("2. Mostrar ventas por cliente");
             System.out.println("3. Mostrar importe total de cada venta");
-            System.out.println("4. Volver");
+            System.out.println("4. Mostrar clasificaciones (top especies y clientes)");
+            System.out.println("5. Archivar ventas antiguas");
+            System.out.println("6. Consultar ventas archivadas por fechas");
+            System.out.println("7. Volver");
             System.out.print("Seleccione: ");
             opcion = getIntInput();
 
@@ -383,30 +624,37 @@ public class Main {
                 case 1 -> mostrarTodasVentas();
                 case 2 -> mostrarVentasPorCliente();
                 case 3 -> mostrarTotalCadaVenta();
-                case 4 -> System.out.println("Volviendo...");
+                case 4 -> mostrarClasificaciones();
+                case 5 -> archivarVentasAntiguas();
+                case 6 -> mostrarVentasArchivadas();
+                case 7 -> System.out.println("Volviendo...");
                 default -> System.out.println("Opción no válida.");
             }
-        } while (opcion != 4);
+        } while (opcion != 7);
     }
 
     /**
-     * Muestra todas las ventas registradas en el sistema.
+     * Muestra todas las ventas registradas en el sistema hasta el momento de la consulta.
      * <p>Si no hay ventas, muestra un mensaje informativo.
      */
     private static void mostrarTodasVentas() {
-        if (ventas.isEmpty()) {
+        RegistroVentas.Instantanea instantanea = ventas.instantanea();
+        if (instantanea.estaVacia()) {
             System.out.println("No hay ventas registradas.");
         } else {
             System.out.println("\n--- TODAS LAS VENTAS ---");
-            for (Venta v : ventas) {
+            for (Venta v : instantanea) {
                 System.out.println(v);
             }
         }
     }
 
     /**
-     * Muestra todas las ventas asociadas a un cliente específico, buscado por DNI.
-     * <p>Si no se encuentran ventas, muestra un mensaje.
+     * Muestra todas las ventas asociadas a un cliente específico, buscado por DNI,
+     * incluidas las que ya están en el archivo histórico.
+     * <p>Las ventas se comparan por cliente y no solo por DNI: si un cliente se dio de
+     * baja y después se dio de alta otro con el mismo DNI, las ventas del anterior no
+     * se muestran como del nuevo. Si no se encuentran ventas, muestra un mensaje.
      */
     private static void mostrarVentasPorCliente() {
         System.out.print("DNI del cliente: ");
@@ -418,8 +666,21 @@ public class Main {
         }
 
         boolean encontrado = false;
-        for (Venta v : ventas) {
-            if (v.getCliente().getDni().equalsIgnoreCase(dni)) {
+        ArchivoVentas historico = obtenerArchivo();
+        if (historico != null) {
+            try {
+                for (Venta v : historico.buscarPorCliente(dni)) {
+                    // Las de un cliente dado de baja son de un titular anterior de este DNI
+                    if (v.getCliente().isEliminado()) continue;
+                    System.out.println(v);
+                    encontrado = true;
+                }
+            } catch (IOException e) {
+                System.out.println("Error al leer el archivo de ventas: " + e.getMessage());
+            }
+        }
+        for (Venta v : ventas.instantanea()) {
+            if (v.getCliente() == cliente) {
                 System.out.println(v);
                 encontrado = true;
             }
@@ -434,13 +695,84 @@ public class Main {
      */
     private static void mostrarTotalCadaVenta() {
         System.out.println("\n--- IMPORTE TOTAL DE CADA VENTA ---");
-        for (Venta v : ventas) {
+        for (Venta v : ventas.instantanea()) {
             System.out.println("Cliente: " + v.getCliente().getNombre() +
                     " | Fecha: " + v.getFecha() +
                     " | Total: $" + String.format("%.2f", v.calcularTotal()));
         }
     }
 
+    /**
+     * Muestra las especies más vendidas por unidades y los clientes que más han gastado.
+     * <p>Las clasificaciones se mantienen al día con cada venta, así que se muestran al
+     * instante sin recorrer el histórico.
+     */
+    private static void mostrarClasificaciones() {
+        System.out.println("\n--- TOP " + PUESTOS_CLASIFICACION + " ESPECIES (UNIDADES) ---");
+        int puesto = 1;
+        for (ClasificacionTopK.Puesto<String> p : clasificacion.especiesMasVendidas(PUESTOS_CLASIFICACION)) {
+            // Se muestra la cuenta garantizada; si la clasificación ha tenido que estimar, también el máximo posible
+            System.out.println(puesto++ + ". " + p.getClave() + ": " + (long) (p.getCuenta() - p.getError()) + " uds."
+                    + (p.getError() > 0 ? " (hasta " + (long) p.getCuenta() + ")" : ""));
+        }
+        System.out.println("\n--- TOP " + PUESTOS_CLASIFICACION + " CLIENTES (IMPORTE) ---");
+        puesto = 1;
+        for (ClasificacionTopK.Puesto<Cliente> p : clasificacion.mejoresClientes(PUESTOS_CLASIFICACION)) {
+            System.out.println(puesto++ + ". " + p.getClave().getNombre() + " (" + p.getClave().getDni() + "): $"
+                    + String.format("%.2f", p.getCuenta() - p.getError()));
+        }
+        if (puesto == 1) {
+            System.out.println("No hay ventas registradas.");
+        }
+    }
+
+    /**
+     * Archiva en disco las ventas con más antigüedad que la configurada y las saca de memoria.
+     */
+    private static void archivarVentasAntiguas() {
+        ArchivoVentas historico = obtenerArchivo();
+        if (historico == null) {
+            System.out.println("El archivo de ventas no está disponible.");
+            return;
+        }
+        LocalDate corte = LocalDate.now().minusDays(DIAS_ARCHIVO);
+        try {
+            int archivadas = historico.archivarAnteriores(ventas, corte);
+            System.out.println("Ventas archivadas (anteriores a " + corte + "): " + archivadas);
+        } catch (IOException e) {
+            System.out.println("Error al archivar las ventas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Muestra las ventas archivadas entre dos fechas.
+     * <p>Solo se leen del disco los bloques del archivo que pueden contener ese rango.
+     */
+    private static void mostrarVentasArchivadas() {
+        ArchivoVentas historico = obtenerArchivo();
+        if (historico == null) {
+            System.out.println("El archivo de ventas no está disponible.");
+            return;
+        }
+        System.out.print("Desde (AAAA-MM-DD): ");
+        LocalDate desde = getFechaInput();
+        System.out.print("Hasta (AAAA-MM-DD): ");
+        LocalDate hasta = getFechaInput();
+        try {
+            List<Venta> encontradas = historico.buscarPorFechas(desde, hasta);
+            if (encontradas.isEmpty()) {
+                System.out.println("No hay ventas archivadas en ese periodo.");
+            } else {
+                System.out.println("\n--- VENTAS ARCHIVADAS ---");
+                for (Venta v : encontradas) {
+                    System.out.println(v);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error al leer el archivo de ventas: " + e.getMessage());
+        }
+    }
+
     // --- MÉTODOS AUXILIARES ---
 
     /**
@@ -475,6 +807,84 @@ public class Main {
         return valor;
     }
 
+    /**
+     * Lee una fecha válida con formato AAAA-MM-DD desde la entrada estándar.
+     * Si el formato no es correcto, solicita reingreso hasta que sea válido.
+     *
+     * @return La fecha ingresada por el usuario.
+     */
+    private static LocalDate getFechaInput() {
+        while (true) {
+            try {
+                return LocalDate.parse(scanner.nextLine().trim());
+            } catch (DateTimeParseException e) {
+                System.out.print("Ingrese una fecha válida (AAAA-MM-DD): ");
+            }
+        }
+    }
+
+    /**
+     * Muestra el tiempo transcurrido desde el inicio de la aplicación hasta un hito,
+     * si está activada la propiedad {@code pajareria.tiempos}.
+     *
+     * @param hito Descripción del hito alcanzado.
+     */
+    private static void mostrarTiempo(String hito) {
+        if (MOSTRAR_TIEMPOS) {
+            System.out.println("\n[tiempos] " + hito + ": " + (System.nanoTime() - INICIO_NANOS) / 1_000_000 + " ms");
+        }
+    }
+
+    // --- ENTRENAMIENTO (AppCDS) ---
+
+    /**
+     * Recorre automáticamente las operaciones principales del sistema para que la JVM
+     * cargue las clases que se usan en una sesión normal.
+     * <p>Se ejecuta con {@code -XX:ArchiveClassesAtExit} para generar el archivo AppCDS
+     * que acelera el arranque. No lee de la entrada estándar ni deja ficheros.
+     */
+    private static void entrenar() {
+        cargarDatosPrueba();
+        listadoPajaros();
+        listadoClientes();
+        indiceCatalogo.buscarPorRangoPrecio(20, 50);
+        indiceCatalogo.buscarStockBajo(2);
+        clientes.buscarPorNombre("ana lopez", MAX_RESULTADOS_BUSQUEDA);
+
+        Cliente cliente = buscarClientePorDNI("12345678A", true);
+        cesta.agregar(catalogo.get(0));
+        Venta venta = cesta.cerrar(cliente);
+        ventas.registrar(venta);
+        mensajeVenta.setLength(0);
+        System.out.println(FormatoPrecio.anadir(mensajeVenta.append("Venta registrada. Total: $"), venta.calcularTotal()));
+        realizarVentasEnLote(List.of(new Pedido("87654321B", 2, 1), new Pedido("00000000X", 1, 1)));
+
+        mostrarTodasVentas();
+        mostrarTotalCadaVenta();
+        mostrarClasificaciones();
+
+        try {
+            Path directorio = Files.createTempDirectory("pajareria-entrenamiento");
+            ArchivoVentas historico = new ArchivoVentas(directorio, clientes::buscar);
+            historico.archivarAnteriores(ventas, LocalDate.now().plusDays(1));
+            historico.buscarPorFechas(LocalDate.now().minusDays(1), LocalDate.now());
+            historico.buscarPorCliente("12345678A");
+            List<Path> ficheros;
+            try (Stream<Path> contenido = Files.list(directorio)) {
+                ficheros = contenido.toList();
+            }
+            for (Path fichero : ficheros) {
+                Files.deleteIfExists(fichero);
+            }
+            Files.deleteIfExists(directorio);
+        } catch (IOException e) {
+            System.out.println("Aviso: no se pudo entrenar el archivo de ventas: " + e.getMessage());
+        }
+
+        clientes.baja("87654321B");
+        System.out.println("Entrenamiento completado.");
+    }
+
     // --- DATOS DE PRUEBA ---
 
     /**
@@ -482,11 +892,11 @@ public class Main {
      * <p>Este metodo se llama al iniciar la aplicación para facilitar pruebas inmediatas.
      */
     private static void cargarDatosPrueba() {
-        clientes.add(new Cliente("Ana López", "12345678A", "600111222", "ana@email.com"));
-        clientes.add(new Cliente("Luis García", "87654321B", "699888777", "luis@email.com"));
+        clientes.alta(new Cliente("Ana López", "12345678A", "600111222", "ana@email.com"));
+        clientes.alta(new Cliente("Luis García", "87654321B", "699888777", "luis@email.com"));
 
-        catalogo.add(new Pajaro("Canario", "Amarillo", 25.0, 3));
-        catalogo.add(new Pajaro("Periquito", "Verde", 40.0, 2));
-        catalogo.add(new Pajaro("Jilguero", "Marrón", 30.0, 1));
+        agregarAlCatalogo(new Pajaro("Canario", "Amarillo", 25.0, 3));
+        agregarAlCatalogo(new Pajaro("Periquito", "Verde", 40.0, 2));
+        agregarAlCatalogo(new Pajaro("Jilguero", "Marrón", 30.0, 1));
     }
 }
\ No newline at end of file
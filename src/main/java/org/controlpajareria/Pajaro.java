@@ -35,6 +35,12 @@ public class Pajaro {
      */
     private int cantidad;
 
+    /**
+     * Índice del catálogo al que pertenece este pájaro, o {@code null} si no está indexado.
+     * Se avisa al índice cada vez que cambia cualquiera de los datos del pájaro.
+     */
+    private IndiceCatalogo indice;
+
     /**
      * Constructor que inicializa un nuevo pájaro con los atributos especificados.
      *
@@ -62,7 +68,10 @@ public class Pajaro {
      *
      * @param especie El nuevo nombre de la especie. No debe ser nulo ni vacío.
      */
-    public void setEspecie(String especie) { this.especie = especie; }
+    public void setEspecie(String especie) {
+        this.especie = especie;
+        if (indice != null) indice.datosCambiados(this);
+    }
 
     /**
      * Obtiene el color del pájaro.
@@ -76,7 +85,10 @@ public class Pajaro {
      *
      * @param color El nuevo color del pájaro. No debe ser nulo ni vacío.
      */
-    public void setColor(String color) { this.color = color; }
+    public void setColor(String color) {
+        this.color = color;
+        if (indice != null) indice.datosCambiados(this);
+    }
 
     /**
      * Obtiene el precio del pájaro.
@@ -90,7 +102,11 @@ public class Pajaro {
      *
      * @param precio El nuevo precio. Debe ser mayor o igual a 0.
      */
-    public void setPrecio(double precio) { this.precio = precio; }
+    public void setPrecio(double precio) {
+        double anterior = this.precio;
+        this.precio = precio;
+        if (indice != null) indice.precioCambiado(this, anterior);
+    }
 
     /**
      * Obtiene la cantidad disponible en inventario.
@@ -104,7 +120,25 @@ public class Pajaro {
      *
      * @param cantidad La nueva cantidad. Debe ser mayor o igual a 0.
      */
-    public void setCantidad(int cantidad) { this.cantidad = cantidad; }
+    public void setCantidad(int cantidad) {
+        int anterior = this.cantidad;
+        this.cantidad = cantidad;
+        if (indice != null) indice.cantidadCambiada(this, anterior);
+    }
+
+    /**
+     * Obtiene el índice del catálogo en el que está registrado el pájaro.
+     *
+     * @return El {@code IndiceCatalogo}, o {@code null} si no está indexado.
+     */
+    IndiceCatalogo getIndice() { return indice; }
+
+    /**
+     * Asocia el pájaro a un índice del catálogo. Solo lo usa {@code IndiceCatalogo}.
+     *
+     * @param indice El índice en el que se registra el pájaro.
+     */
+    void setIndice(IndiceCatalogo indice) { this.indice = indice; }
 
     /**
      * Devuelve una representación en cadena de texto del objeto Pájaro.
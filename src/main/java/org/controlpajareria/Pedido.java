@@ -0,0 +1,73 @@
+package org.controlpajareria;
+
+/**
+ * Clase que representa un pedido individual dentro de un lote de ventas.
+ * Cada pedido indica el DNI del cliente, el número del pájaro en el catálogo
+ * (empezando en 1, igual que en el listado del menú) y la cantidad de ejemplares.
+ * Se utiliza para procesar en bloque los pedidos que llegan desde la tienda web.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class Pedido {
+    /**
+     * DNI del cliente que realiza el pedido.
+     */
+    private final String dni;
+
+    /**
+     * Número del pájaro en el catálogo, tal y como aparece en el listado (base 1).
+     */
+    private final int numeroArticulo;
+
+    /**
+     * Cantidad de ejemplares solicitados. Debe ser mayor que 0.
+     */
+    private final int cantidad;
+
+    /**
+     * Constructor que inicializa un pedido con los datos indicados.
+     *
+     * @param dni            El DNI del cliente. No debe ser {@code null}.
+     * @param numeroArticulo El número del pájaro en el catálogo (base 1).
+     * @param cantidad       La cantidad de ejemplares solicitados.
+     */
+    public Pedido(String dni, int numeroArticulo, int cantidad) {
+        this.dni = dni;
+        this.numeroArticulo = numeroArticulo;
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Obtiene el DNI del cliente del pedido.
+     *
+     * @return El DNI como cadena de texto.
+     */
+    public String getDni() { return dni; }
+
+    /**
+     * Obtiene el número del pájaro en el catálogo.
+     *
+     * @return El número de artículo (base 1).
+     */
+    public int getNumeroArticulo() { return numeroArticulo; }
+
+    /**
+     * Obtiene la cantidad de ejemplares solicitados.
+     *
+     * @return La cantidad solicitada.
+     */
+    public int getCantidad() { return cantidad; }
+
+    /**
+     * Devuelve en cadena de texto el objeto Pedido.
+     *
+     * @return Una cadena con el formato:
+     *         {@code Pedido{dni='...', articulo=N, cantidad=N}}
+     */
+    @Override
+    public String toString() {
+        return "Pedido{dni='" + dni + "', articulo=" + numeroArticulo + ", cantidad=" + cantidad + "}";
+    }
+}
@@ -0,0 +1,112 @@
+package org.controlpajareria;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que procesa en bloque los pedidos recibidos desde la tienda web.
+ * Resuelve los clientes por DNI contra el índice del {@code RegistroClientes} y los
+ * artículos por posición, descuenta el stock una sola vez por artículo y registra
+ * todas las ventas juntas, devolviendo un resultado por pedido.
+ *
+ * <p>No es más rápido que vender pedido a pedido por el camino del menú: con los
+ * clientes ya indexados por DNI, {@code VentaLoteBenchmark} no mide diferencias fuera
+ * del margen de error (ver el README). Lo que aporta es el resultado de cada pedido y
+ * que un fallo no detiene el resto del lote.
+ *
+ * <p>Los pedidos se evalúan en el orden recibido: si el stock de un artículo
+ * se agota, los pedidos posteriores de ese artículo se rechazan, pero el resto
+ * del lote sigue adelante. El stock se comprueba y se descuenta con el catálogo
+ * bloqueado, así que dos lotes procesados a la vez no pueden vender más de lo que
+ * hay ni perder descuentos; cualquier otro código que modifique el stock debe
+ * bloquear el catálogo de la misma forma.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ProcesadorPedidos {
+    /**
+     * Clientes registrados en el sistema.
+     */
+    private final RegistroClientes clientes;
+
+    /**
+     * Catálogo de pájaros disponibles para la venta.
+     */
+    private final List<Pajaro> catalogo;
+
+    /**
+     * Histórico donde se registran las ventas generadas.
+     */
+    private final RegistroVentas ventas;
+
+    /**
+     * Constructor que inicializa el procesador sobre las listas del sistema.
+     *
+     * @param clientes Registro de clientes del sistema.
+     * @param catalogo Catálogo de pájaros.
+     * @param ventas   Histórico de ventas donde se añadirán las nuevas ventas.
+     */
+    public ProcesadorPedidos(RegistroClientes clientes, List<Pajaro> catalogo, RegistroVentas ventas) {
+        this.clientes = clientes;
+        this.catalogo = catalogo;
+        this.ventas = ventas;
+    }
+
+    /**
+     * Procesa un lote de pedidos y devuelve un resultado por cada pedido,
+     * en el mismo orden en que se recibieron.
+     * <p>El stock de cada artículo se descuenta una sola vez con la suma de
+     * todos los pedidos aceptados, y las ventas se publican de golpe al final,
+     * ya fuera del bloqueo del catálogo.
+     *
+     * @param pedidos Lista de pedidos a procesar.
+     * @return La lista de resultados, uno por pedido.
+     */
+    public List<ResultadoPedido> procesar(List<Pedido> pedidos) {
+        List<ResultadoPedido> resultados = new ArrayList<>(pedidos.size());
+        List<Venta> nuevasVentas = new ArrayList<>(pedidos.size());
+
+        synchronized (catalogo) {
+            int[] reservado = new int[catalogo.size()];
+            for (Pedido pedido : pedidos) {
+                Cliente cliente = clientes.buscar(pedido.getDni());
+                int indice = pedido.getNumeroArticulo() - 1;
+                ResultadoPedido.Estado estado;
+                Venta venta = null;
+
+                if (cliente == null) {
+                    estado = ResultadoPedido.Estado.CLIENTE_NO_ENCONTRADO;
+                } else if (indice < 0 || indice >= reservado.length) {
+                    estado = ResultadoPedido.Estado.ARTICULO_NO_VALIDO;
+                } else if (pedido.getCantidad() <= 0) {
+                    estado = ResultadoPedido.Estado.CANTIDAD_NO_VALIDA;
+                } else {
+                    Pajaro pajaro = catalogo.get(indice);
+                    if (pajaro.getCantidad() - reservado[indice] < pedido.getCantidad()) {
+                        estado = ResultadoPedido.Estado.STOCK_INSUFICIENTE;
+                    } else {
+                        reservado[indice] += pedido.getCantidad();
+                        venta = new Venta(cliente);
+                        for (int i = 0; i < pedido.getCantidad(); i++) {
+                            venta.agregarPajaro(pajaro);
+                        }
+                        nuevasVentas.add(venta);
+                        estado = ResultadoPedido.Estado.ACEPTADO;
+                    }
+                }
+                resultados.add(new ResultadoPedido(pedido, estado, venta));
+            }
+
+            for (int i = 0; i < reservado.length; i++) {
+                if (reservado[i] > 0) {
+                    Pajaro pajaro = catalogo.get(i);
+                    pajaro.setCantidad(pajaro.getCantidad() - reservado[i]);
+                }
+            }
+        }
+        ventas.registrarTodas(nuevasVentas);
+        return resultados;
+    }
+}
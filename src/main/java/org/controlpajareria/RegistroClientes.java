@@ -0,0 +1,311 @@
+package org.controlpajareria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Clase que almacena los clientes registrados en el sistema.
+ * Las búsquedas por DNI se resuelven con un mapa hash, y las bajas son lógicas:
+ * el cliente se marca como eliminado (lápida) en lugar de borrarse de la lista,
+ * de modo que la baja es O(1) y las ventas antiguas siguen apuntando a un
+ * cliente que sabe que está dado de baja.
+ *
+ * <p>Cuando la proporción de clientes eliminados supera un umbral, un hilo en
+ * segundo plano compacta la lista por lotes para recuperar los huecos. Durante la
+ * compactación las búsquedas por DNI no se bloquean, ya que no usan la lista.
+ *
+ * <p>Además mantiene un {@code IndiceNombresClientes} con los clientes activos para
+ * buscarlos por nombre o email de forma aproximada. Cuando el índice acumula demasiadas
+ * entradas borradas, el mismo hilo en segundo plano lo reconstruye.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class RegistroClientes {
+    /**
+     * Proporción de eliminados por defecto a partir de la cual se compacta.
+     */
+    public static final double UMBRAL_POR_DEFECTO = 0.25;
+
+    /**
+     * Número de huecos que se revisan en cada lote de la compactación antes de ceder
+     * el procesador a otros hilos.
+     */
+    public static final int LOTE_POR_DEFECTO = 1024;
+
+    /**
+     * Por debajo de este número de huecos ocupados no merece la pena compactar.
+     */
+    private static final int MINIMO_PARA_COMPACTAR = 32;
+
+    /**
+     * Clientes activos indexados por DNI normalizado.
+     */
+    private final ConcurrentHashMap<String, Cliente> porDni = new ConcurrentHashMap<>();
+
+    /**
+     * Índice aproximado por nombre y email de los clientes activos.
+     */
+    private final IndiceNombresClientes indiceNombres = new IndiceNombresClientes();
+
+    /**
+     * Huecos con los clientes en orden de alta, incluidos los eliminados pendientes de compactar.
+     * Protegido por {@code this}.
+     */
+    private Cliente[] ranuras = new Cliente[16];
+
+    /**
+     * Número de huecos ocupados en {@code ranuras}. Protegido por {@code this}.
+     */
+    private int ocupadas;
+
+    /**
+     * Número de huecos ocupados por clientes eliminados. Protegido por {@code this}.
+     */
+    private int eliminados;
+
+    private final double umbral;
+    private final int tamanioLote;
+    private final AtomicBoolean compactacionPendiente = new AtomicBoolean();
+
+    /**
+     * Cerrojo que impide dos compactaciones a la vez. Ni las búsquedas ni las altas lo usan.
+     */
+    private final Object cerrojoCompactacion = new Object();
+
+    private final ExecutorService compactador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "compactador-clientes");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /**
+     * Constructor que crea un registro vacío con el umbral y el lote por defecto.
+     */
+    public RegistroClientes() {
+        this(UMBRAL_POR_DEFECTO, LOTE_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor que crea un registro vacío con los parámetros de compactación indicados.
+     *
+     * @param umbral      Proporción de eliminados (entre 0 y 1) que dispara la compactación.
+     * @param tamanioLote Número de huecos revisados en cada lote de la compactación. Solo
+     *                    marca cada cuánto cede el procesador el hilo que compacta; la
+     *                    lista compactada se publica de una vez al final, no por lotes.
+     */
+    public RegistroClientes(double umbral, int tamanioLote) {
+        this.umbral = umbral;
+        this.tamanioLote = tamanioLote;
+    }
+
+    /**
+     * Da de alta un cliente si no existe ya otro activo con el mismo DNI.
+     *
+     * @param cliente El cliente a registrar.
+     * @return {@code true} si se registró; {@code false} si el DNI ya estaba en uso.
+     */
+    public boolean alta(Cliente cliente) {
+        if (porDni.putIfAbsent(clave(cliente.getDni()), cliente) != null) {
+            return false;
+        }
+        synchronized (this) {
+            if (ocupadas == ranuras.length) {
+                Cliente[] nuevas = new Cliente[ranuras.length * 2];
+                System.arraycopy(ranuras, 0, nuevas, 0, ocupadas);
+                ranuras = nuevas;
+            }
+            ranuras[ocupadas++] = cliente;
+        }
+        indiceNombres.agregar(cliente);
+        if (cliente.isEliminado()) indiceNombres.quitar(cliente);
+        return true;
+    }
+
+    /**
+     * Da de baja de forma lógica al cliente con el DNI indicado.
+     * <p>El cliente se marca como eliminado y deja de encontrarse por DNI, pero su
+     * hueco no se libera hasta la siguiente compactación.
+     *
+     * @param dni El DNI del cliente a eliminar.
+     * @return El cliente eliminado, o {@code null} si no había ningún cliente activo con ese DNI.
+     */
+    public Cliente baja(String dni) {
+        Cliente cliente = porDni.remove(clave(dni));
+        if (cliente == null) return null;
+        cliente.marcarEliminado();
+        indiceNombres.quitar(cliente);
+        synchronized (this) {
+            eliminados++;
+        }
+        programarMantenimiento();
+        return cliente;
+    }
+
+    /**
+     * Busca un cliente activo por su DNI (ignorando mayúsculas).
+     *
+     * @param dni El DNI a buscar.
+     * @return El {@code Cliente} si existe y no está dado de baja; {@code null} en caso contrario.
+     */
+    public Cliente buscar(String dni) {
+        return porDni.get(clave(dni));
+    }
+
+    /**
+     * Busca los clientes activos cuyo nombre o email se parecen más al texto indicado,
+     * sin tener en cuenta mayúsculas ni tildes y tolerando pequeñas erratas.
+     *
+     * @param texto  El texto a buscar.
+     * @param maximo Número máximo de resultados.
+     * @return Los clientes encontrados, del más al menos parecido.
+     */
+    public List<Cliente> buscarPorNombre(String texto, int maximo) {
+        return indiceNombres.buscar(texto, maximo);
+    }
+
+    /**
+     * Actualiza los índices de un cliente tras modificar su nombre o su email.
+     *
+     * @param cliente El cliente modificado.
+     */
+    public void actualizar(Cliente cliente) {
+        if (cliente.isEliminado()) return;
+        indiceNombres.actualizar(cliente);
+        programarMantenimiento();
+    }
+
+    /**
+     * Obtiene una copia de los clientes activos en orden de alta.
+     *
+     * @return La lista de clientes activos.
+     */
+    public synchronized List<Cliente> listar() {
+        List<Cliente> activos = new ArrayList<>(ocupadas - eliminados);
+        for (int i = 0; i < ocupadas; i++) {
+            if (!ranuras[i].isEliminado()) activos.add(ranuras[i]);
+        }
+        return activos;
+    }
+
+    /**
+     * Obtiene el número de clientes activos.
+     *
+     * @return El número de clientes no eliminados.
+     */
+    public int tamanio() { return porDni.size(); }
+
+    /**
+     * Indica si no hay clientes activos.
+     *
+     * @return {@code true} si no hay ningún cliente activo.
+     */
+    public boolean estaVacio() { return porDni.isEmpty(); }
+
+    /**
+     * Obtiene el número de huecos ocupados, incluidos los de clientes eliminados.
+     *
+     * @return El número de huecos ocupados.
+     */
+    public synchronized int getRanurasOcupadas() { return ocupadas; }
+
+    /**
+     * Obtiene el número de huecos ocupados por clientes eliminados pendientes de compactar.
+     *
+     * @return El número de lápidas.
+     */
+    public synchronized int getEliminados() { return eliminados; }
+
+    /**
+     * Compacta la lista eliminando las lápidas.
+     * <p>Los huecos existentes se revisan por lotes y la nueva lista se construye sin
+     * bloquear el registro; solo se bloquea al final para copiar las altas producidas
+     * mientras tanto y publicar la nueva lista. Normalmente se ejecuta en segundo plano tras una baja.
+     */
+    public void compactar() {
+        synchronized (cerrojoCompactacion) {
+            compactarLotes();
+        }
+    }
+
+    /**
+     * Realiza la compactación. Debe llamarse con {@code cerrojoCompactacion} adquirido.
+     */
+    private void compactarLotes() {
+        Cliente[] origen;
+        int limite;
+        synchronized (this) {
+            origen = ranuras;
+            limite = ocupadas;
+        }
+
+        ArrayList<Cliente> vivos = new ArrayList<>(limite);
+        int descartados = 0;
+        for (int inicio = 0; inicio < limite; inicio += tamanioLote) {
+            int fin = Math.min(limite, inicio + tamanioLote);
+            for (int i = inicio; i < fin; i++) {
+                if (origen[i].isEliminado()) {
+                    descartados++;
+                } else {
+                    vivos.add(origen[i]);
+                }
+            }
+            Thread.yield();
+        }
+        if (descartados == 0) return;
+
+        // La nueva lista se construye fuera del cerrojo, con holgura para las altas que
+        // lleguen mientras tanto; dentro solo se copian esas altas y se publica.
+        Cliente[] nuevas = vivos.toArray(new Cliente[Math.max(16, Integer.highestOneBit(Math.max(1, vivos.size())) * 2)]);
+
+        synchronized (this) {
+            int total = vivos.size() + (ocupadas - limite);
+            if (total > nuevas.length) {
+                nuevas = Arrays.copyOf(nuevas, Integer.highestOneBit(total) * 2);
+            }
+            System.arraycopy(ranuras, limite, nuevas, vivos.size(), ocupadas - limite);
+            ranuras = nuevas;
+            ocupadas = total;
+            eliminados -= descartados;
+        }
+    }
+
+    /**
+     * Lanza en segundo plano la compactación de la lista y la reconstrucción del índice
+     * de nombres si alguna de las dos hace falta y no hay ya una en marcha.
+     */
+    private void programarMantenimiento() {
+        if (!hayQueCompactar() && !indiceNombres.necesitaReconstruir()) return;
+        if (compactacionPendiente.compareAndSet(false, true)) {
+            compactador.execute(() -> {
+                try {
+                    if (hayQueCompactar()) compactar();
+                    indiceNombres.reconstruirSiHaceFalta();
+                } finally {
+                    compactacionPendiente.set(false);
+                }
+            });
+        }
+    }
+
+    private synchronized boolean hayQueCompactar() {
+        return ocupadas >= MINIMO_PARA_COMPACTAR && eliminados >= ocupadas * umbral;
+    }
+
+    /**
+     * Normaliza un DNI para compararlo ignorando mayúsculas.
+     *
+     * @param dni El DNI a normalizar.
+     * @return El DNI en mayúsculas, o cadena vacía si es {@code null}.
+     */
+    private static String clave(String dni) {
+        return dni == null ? "" : dni.toUpperCase(Locale.ROOT);
+    }
+}
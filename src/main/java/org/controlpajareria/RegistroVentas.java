@@ -0,0 +1,248 @@
+package org.controlpajareria;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Clase que registra las ventas del sistema en un histórico de solo añadir.
+ * Las ventas se guardan en segmentos de tamaño fijo que nunca se mueven ni se
+ * reescriben, y un contador publicado (marca de agua) indica hasta dónde está
+ * completo el histórico.
+ *
+ * <p>Los informes trabajan sobre una {@code Instantanea}: una vista del histórico
+ * tal y como estaba al pedirla. Leerla no necesita bloqueos, así que un informe
+ * largo puede recorrerla mientras se siguen registrando ventas, sin
+ * {@code ConcurrentModificationException} y con totales coherentes.
+ *
+ * <p>Las ventas más antiguas se pueden descartar del principio del histórico (por
+ * ejemplo, tras archivarlas en disco). Los segmentos completos que quedan por debajo
+ * se liberan, aunque las instantáneas ya obtenidas siguen pudiendo leerlos.
+ *
+ * <p>Se pueden suscribir oyentes que reciben cada venta nada más publicarse, por
+ * ejemplo para mantener estadísticas al día sin recorrer el histórico. Se avisan
+ * fuera del cerrojo, así que un oyente lento no frena el registro de ventas.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class RegistroVentas {
+    /**
+     * Número de ventas que caben en cada segmento (potencia de dos).
+     */
+    public static final int TAMANIO_SEGMENTO = 1024;
+
+    private static final int BITS_SEGMENTO = Integer.numberOfTrailingZeros(TAMANIO_SEGMENTO);
+    private static final int MASCARA_SEGMENTO = TAMANIO_SEGMENTO - 1;
+
+    /**
+     * Directorio de segmentos. Solo crece; los segmentos ya creados se conservan.
+     */
+    private volatile Venta[][] segmentos = new Venta[16][];
+
+    /**
+     * Marca de agua: número de ventas publicadas y visibles para los lectores.
+     */
+    private volatile int publicadas;
+
+    /**
+     * Posición absoluta de la primera venta que sigue en el histórico. Las anteriores
+     * se han descartado.
+     */
+    private volatile int inicio;
+
+    /**
+     * Oyentes avisados de cada venta publicada, en orden de registro.
+     */
+    private final CopyOnWriteArrayList<Consumer<Venta>> oyentes = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registra una venta al final del histórico y la publica.
+     *
+     * @param venta La venta a registrar. No debe ser {@code null}.
+     */
+    public void registrar(Venta venta) {
+        synchronized (this) {
+            int posicion = publicadas;
+            escribir(posicion, venta);
+            publicadas = posicion + 1;
+        }
+        avisar(venta);
+    }
+
+    /**
+     * Registra varias ventas al final del histórico y las publica todas a la vez,
+     * de modo que ninguna instantánea ve solo una parte del grupo.
+     *
+     * @param nuevas Las ventas a registrar.
+     */
+    public void registrarTodas(Collection<Venta> nuevas) {
+        synchronized (this) {
+            int posicion = publicadas;
+            for (Venta venta : nuevas) {
+                escribir(posicion++, venta);
+            }
+            publicadas = posicion;
+        }
+        for (Venta venta : nuevas) {
+            avisar(venta);
+        }
+    }
+
+    /**
+     * Suscribe un oyente que recibirá cada venta registrada a partir de ahora.
+     * Los oyentes se ejecutan en el hilo que registra la venta, de uno en uno y después
+     * de publicarla, sin bloquear el registro de otras ventas; por eso pueden recibir
+     * ventas de varios hilos a la vez y deben ser seguros para hilos. Si un oyente
+     * lanza una excepción, se informa por la salida de error y se sigue con los demás.
+     *
+     * @param oyente El oyente a suscribir.
+     */
+    public void suscribir(Consumer<Venta> oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Obtiene una instantánea del histórico con las ventas publicadas hasta ahora.
+     *
+     * @return Una {@code Instantanea} inmutable del histórico.
+     */
+    public Instantanea instantanea() {
+        // Orden de lectura: marca de agua, directorio y por último el inicio. Al descartar
+        // se escribe el inicio antes que el directorio, así que nunca se combina un
+        // directorio ya recortado con un inicio antiguo.
+        int fin = publicadas;
+        Venta[][] directorio = segmentos;
+        int primero = inicio;
+        return new Instantanea(directorio, primero, Math.max(fin, primero));
+    }
+
+    /**
+     * Descarta las ventas más antiguas del histórico, hasta la cantidad indicada.
+     * <p>Los segmentos que quedan completamente descartados se liberan; las instantáneas
+     * obtenidas antes de descartar no se ven afectadas.
+     *
+     * @param cantidad Número de ventas a descartar desde el principio del histórico.
+     */
+    public synchronized void descartarPrimeras(int cantidad) {
+        int nuevoInicio = Math.min(publicadas, inicio + Math.max(0, cantidad));
+        Venta[][] directorio = segmentos.clone();
+        for (int s = inicio >>> BITS_SEGMENTO; s < nuevoInicio >>> BITS_SEGMENTO; s++) {
+            directorio[s] = null;
+        }
+        inicio = nuevoInicio;
+        segmentos = directorio;
+    }
+
+    /**
+     * Obtiene el número de ventas que hay en el histórico.
+     *
+     * @return El número de ventas registradas y no descartadas.
+     */
+    public int tamanio() { return publicadas - inicio; }
+
+    /**
+     * Indica si no hay ventas en el histórico.
+     *
+     * @return {@code true} si el histórico está vacío.
+     */
+    public boolean estaVacio() { return tamanio() == 0; }
+
+    private void avisar(Venta venta) {
+        for (Consumer<Venta> oyente : oyentes) {
+            try {
+                oyente.accept(venta);
+            } catch (RuntimeException e) {
+                System.err.println("Error en un oyente de ventas: " + e);
+            }
+        }
+    }
+
+    /**
+     * Escribe una venta en la posición indicada, creando su segmento si hace falta.
+     * Debe llamarse con el cerrojo de escritura adquirido.
+     */
+    private void escribir(int posicion, Venta venta) {
+        int numSegmento = posicion >>> BITS_SEGMENTO;
+        Venta[][] directorio = segmentos;
+        if (numSegmento == directorio.length) {
+            Venta[][] nuevo = new Venta[directorio.length * 2][];
+            System.arraycopy(directorio, 0, nuevo, 0, directorio.length);
+            directorio = nuevo;
+        }
+        if (directorio[numSegmento] == null) {
+            directorio[numSegmento] = new Venta[TAMANIO_SEGMENTO];
+        }
+        directorio[numSegmento][posicion & MASCARA_SEGMENTO] = venta;
+        segmentos = directorio;
+    }
+
+    /**
+     * Vista inmutable del histórico de ventas en un instante concreto.
+     * Solo contiene las ventas publicadas al crearla, aunque después se registren más.
+     */
+    public static final class Instantanea implements Iterable<Venta> {
+        private final Venta[][] segmentos;
+        private final int inicio;
+        private final int tamanio;
+
+        private Instantanea(Venta[][] segmentos, int inicio, int fin) {
+            this.segmentos = segmentos;
+            this.inicio = inicio;
+            this.tamanio = fin - inicio;
+        }
+
+        /**
+         * Obtiene el número de ventas de la instantánea.
+         *
+         * @return El número de ventas.
+         */
+        public int tamanio() { return tamanio; }
+
+        /**
+         * Indica si la instantánea no contiene ventas.
+         *
+         * @return {@code true} si no hay ventas.
+         */
+        public boolean estaVacia() { return tamanio == 0; }
+
+        /**
+         * Obtiene la venta en la posición indicada, en orden de registro.
+         *
+         * @param posicion La posición de la venta (base 0).
+         * @return La {@code Venta} en esa posición.
+         * @throws IndexOutOfBoundsException Si la posición está fuera de la instantánea.
+         */
+        public Venta get(int posicion) {
+            if (posicion < 0 || posicion >= tamanio) {
+                throw new IndexOutOfBoundsException("Posición " + posicion + " fuera de la instantánea de " + tamanio);
+            }
+            int absoluta = inicio + posicion;
+            return segmentos[absoluta >>> BITS_SEGMENTO][absoluta & MASCARA_SEGMENTO];
+        }
+
+        /**
+         * Recorre las ventas de la instantánea en orden de registro.
+         *
+         * @return Un iterador sobre las ventas.
+         */
+        @Override
+        public Iterator<Venta> iterator() {
+            return new Iterator<>() {
+                private int siguiente;
+
+                @Override
+                public boolean hasNext() { return siguiente < tamanio; }
+
+                @Override
+                public Venta next() {
+                    if (siguiente >= tamanio) throw new NoSuchElementException();
+                    return get(siguiente++);
+                }
+            };
+        }
+    }
+}
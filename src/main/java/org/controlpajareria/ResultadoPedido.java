@@ -0,0 +1,90 @@
+package org.controlpajareria;
+
+/**
+ * Clase que representa el resultado de procesar un {@code Pedido} dentro de un lote.
+ * Indica si el pedido se aceptó y, en ese caso, la {@code Venta} generada; si no,
+ * el motivo por el que se rechazó. Permite informar de fallos parciales sin
+ * detener el resto del lote.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ResultadoPedido {
+    /**
+     * Posibles estados de un pedido tras procesar el lote.
+     */
+    public enum Estado {
+        ACEPTADO,
+        CLIENTE_NO_ENCONTRADO,
+        ARTICULO_NO_VALIDO,
+        CANTIDAD_NO_VALIDA,
+        STOCK_INSUFICIENTE
+    }
+
+    /**
+     * Pedido original al que corresponde este resultado.
+     */
+    private final Pedido pedido;
+
+    /**
+     * Estado final del pedido.
+     */
+    private final Estado estado;
+
+    /**
+     * Venta generada si el pedido fue aceptado; {@code null} en caso contrario.
+     */
+    private final Venta venta;
+
+    /**
+     * Constructor que inicializa el resultado de un pedido.
+     *
+     * @param pedido El pedido procesado.
+     * @param estado El estado final del pedido.
+     * @param venta  La venta generada, o {@code null} si el pedido fue rechazado.
+     */
+    public ResultadoPedido(Pedido pedido, Estado estado, Venta venta) {
+        this.pedido = pedido;
+        this.estado = estado;
+        this.venta = venta;
+    }
+
+    /**
+     * Obtiene el pedido original.
+     *
+     * @return El objeto {@code Pedido} procesado.
+     */
+    public Pedido getPedido() { return pedido; }
+
+    /**
+     * Obtiene el estado final del pedido.
+     *
+     * @return El {@code Estado} del pedido.
+     */
+    public Estado getEstado() { return estado; }
+
+    /**
+     * Obtiene la venta generada por el pedido.
+     *
+     * @return La {@code Venta} generada, o {@code null} si el pedido fue rechazado.
+     */
+    public Venta getVenta() { return venta; }
+
+    /**
+     * Indica si el pedido fue aceptado.
+     *
+     * @return {@code true} si se generó una venta para el pedido.
+     */
+    public boolean isAceptado() { return estado == Estado.ACEPTADO; }
+
+    /**
+     * Devuelve en cadena de texto el resultado del pedido.
+     *
+     * @return Una cadena con el formato: {@code ResultadoPedido{pedido=..., estado=...}}
+     */
+    @Override
+    public String toString() {
+        return "ResultadoPedido{pedido=" + pedido + ", estado=" + estado + "}";
+    }
+}
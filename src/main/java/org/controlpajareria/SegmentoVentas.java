@@ -0,0 +1,612 @@
+package org.controlpajareria;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Clase que representa un fichero de ventas archivadas, inmutable y comprimido.
+ * Se lee mediante un mapeo en memoria del fichero, de modo que solo se descomprimen
+ * los bloques que necesita cada consulta.
+ *
+ * <p>Formato del fichero:
+ * <ul>
+ *   <li>Cabecera: número mágico, versión, número de ventas y de bloques, día mínimo y
+ *       máximo (época), número de clientes y de pájaros del diccionario y posición de
+ *       sus tablas y del índice.</li>
+ *   <li>Bloques de hasta {@code VENTAS_POR_BLOQUE} ventas comprimidos con Deflate. Cada
+ *       venta guarda el día como diferencia con la anterior y el cliente y los pájaros
+ *       como identificadores del diccionario, todo en enteros de longitud variable, y
+ *       su importe total (8 bytes), que es el de la venta y no el precio actual.</li>
+ *   <li>Filtros de Bloom, uno por bloque, con los DNI de los clientes del bloque.</li>
+ *   <li>Diccionario con los datos de cada cliente y pájaro distinto, comprimido en trozos
+ *       de {@code REGISTROS_POR_TROZO} registros (primero los clientes y después los
+ *       pájaros), seguido de la tabla con la posición y el tamaño de cada trozo.</li>
+ *   <li>Tabla de DNI: los 32 bits bajos del hash de cada DNI con el identificador de su
+ *       cliente, ordenada por hash. Las coincidencias se confirman con el diccionario.</li>
+ *   <li>Índice disperso: por cada bloque, su día mínimo y máximo, su posición y su
+ *       tamaño, y la posición y el tamaño de su filtro.</li>
+ * </ul>
+ *
+ * <p>Nada del diccionario se queda en memoria entre consultas: cada consulta descomprime
+ * solo los trozos de los clientes y pájaros que aparecen en su resultado. Las búsquedas
+ * por cliente localizan el DNI en la tabla de DNI y solo descomprimen los bloques cuyo
+ * filtro puede contenerlo.
+ *
+ * @author shaeongit
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SegmentoVentas {
+    /**
+     * Número máximo de ventas por bloque comprimido.
+     */
+    public static final int VENTAS_POR_BLOQUE = 256;
+
+    /**
+     * Número de registros del diccionario que se comprimen juntos.
+     */
+    public static final int REGISTROS_POR_TROZO = 64;
+
+    private static final int MAGICO = 0x50564131; // "PVA1"
+    private static final int VERSION = 3;
+    private static final int TAMANIO_CABECERA = 4 + 4 + 4 + 4 + 8 + 8 + 4 + 4 + 8 + 8 + 8;
+    private static final int TAMANIO_ENTRADA_INDICE = 8 + 8 + 8 + 8 + 4 + 4 + 4 + 8 + 4;
+    private static final int TAMANIO_ENTRADA_TROZO = 8 + 4 + 4;
+    private static final int TAMANIO_ENTRADA_DNI = 4 + 4;
+
+    /**
+     * Bits del filtro de Bloom por cliente distinto del bloque, y número de funciones
+     * hash. Con 10 bits y 4 funciones los falsos positivos rondan el 1 %.
+     */
+    private static final int BITS_POR_CLIENTE = 10;
+    private static final int FUNCIONES_FILTRO = 4;
+
+    private final Path ruta;
+    private final MappedByteBuffer datos;
+    private final int numVentas;
+    private final int numBloques;
+    private final long primerDia;
+    private final long ultimoDia;
+    private final int numClientes;
+    private final int numPajaros;
+    private final long posicionTrozos;
+    private final long posicionDnis;
+    private final long posicionIndice;
+
+    private SegmentoVentas(Path ruta, MappedByteBuffer datos) throws IOException {
+        this.ruta = ruta;
+        this.datos = datos;
+        if (datos.getInt(0) != MAGICO || datos.getInt(4) != VERSION) {
+            throw new IOException("Fichero de ventas archivadas no válido: " + ruta);
+        }
+        this.numVentas = datos.getInt(8);
+        this.numBloques = datos.getInt(12);
+        this.primerDia = datos.getLong(16);
+        this.ultimoDia = datos.getLong(24);
+        this.numClientes = datos.getInt(32);
+        this.numPajaros = datos.getInt(36);
+        this.posicionTrozos = datos.getLong(40);
+        this.posicionDnis = datos.getLong(48);
+        this.posicionIndice = datos.getLong(56);
+    }
+
+    /**
+     * Abre un segmento existente mapeándolo en memoria en modo solo lectura.
+     *
+     * @param ruta La ruta del fichero.
+     * @return El segmento abierto.
+     * @throws IOException Si el fichero no se puede leer o no tiene el formato esperado.
+     */
+    public static SegmentoVentas abrir(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            return new SegmentoVentas(ruta, canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Escribe un segmento nuevo con las ventas indicadas, normalmente en orden de fecha.
+     * El fichero se escribe primero con un nombre temporal y luego se renombra, para
+     * que nunca quede un segmento a medias.
+     *
+     * @param ruta   La ruta del fichero a crear.
+     * @param ventas Las ventas a archivar. No debe estar vacía.
+     * @return El segmento ya abierto para lectura.
+     * @throws IOException Si no se puede escribir el fichero.
+     */
+    public static SegmentoVentas escribir(Path ruta, List<Venta> ventas) throws IOException {
+        IdentityHashMap<Cliente, Integer> idsClientes = new IdentityHashMap<>();
+        IdentityHashMap<Pajaro, Integer> idsPajaros = new IdentityHashMap<>();
+        List<Cliente> listaClientes = new ArrayList<>();
+        List<Pajaro> listaPajaros = new ArrayList<>();
+
+        ByteArrayOutputStream bloques = new ByteArrayOutputStream();
+        ByteArrayOutputStream filtros = new ByteArrayOutputStream();
+        List<Integer> posicionesFiltros = new ArrayList<>();
+        ByteBuffer indice = ByteBuffer.allocate(TAMANIO_ENTRADA_INDICE * ((ventas.size() + VENTAS_POR_BLOQUE - 1) / VENTAS_POR_BLOQUE));
+        int numBloques = 0;
+        long diaMinimo = Long.MAX_VALUE;
+        long diaMaximo = Long.MIN_VALUE;
+
+        for (int inicio = 0; inicio < ventas.size(); inicio += VENTAS_POR_BLOQUE) {
+            int fin = Math.min(ventas.size(), inicio + VENTAS_POR_BLOQUE);
+            ByteArrayOutputStream bloque = new ByteArrayOutputStream();
+            long primerDiaBloque = dia(ventas.get(inicio));
+            long diaAnterior = primerDiaBloque;
+            long minimoBloque = Long.MAX_VALUE;
+            long maximoBloque = Long.MIN_VALUE;
+            IdentityHashMap<Cliente, Boolean> clientesBloque = new IdentityHashMap<>();
+            for (int i = inicio; i < fin; i++) {
+                Venta venta = ventas.get(i);
+                long diaVenta = dia(venta);
+                escribirVarLong(bloque, zigzag(diaVenta - diaAnterior));
+                diaAnterior = diaVenta;
+                minimoBloque = Math.min(minimoBloque, diaVenta);
+                maximoBloque = Math.max(maximoBloque, diaVenta);
+                escribirVarLong(bloque, id(idsClientes, listaClientes, venta.getCliente()));
+                clientesBloque.put(venta.getCliente(), Boolean.TRUE);
+                escribirVarLong(bloque, venta.getLineasDeVenta().size());
+                for (Pajaro pajaro : venta.getLineasDeVenta()) {
+                    escribirVarLong(bloque, id(idsPajaros, listaPajaros, pajaro));
+                }
+                escribirDouble(bloque, venta.calcularTotal());
+            }
+            byte[] original = bloque.toByteArray();
+            byte[] comprimido = comprimir(original);
+            byte[] filtro = crearFiltro(clientesBloque.keySet());
+            posicionesFiltros.add(filtros.size());
+            filtros.write(filtro);
+            indice.putLong(minimoBloque);
+            indice.putLong(maximoBloque);
+            indice.putLong(TAMANIO_CABECERA + bloques.size());
+            indice.putLong(primerDiaBloque);
+            indice.putInt(comprimido.length);
+            indice.putInt(original.length);
+            indice.putInt(fin - inicio);
+            indice.putLong(0); // posición del filtro, se completa al conocer el tamaño de los bloques
+            indice.putInt(filtro.length);
+            bloques.write(comprimido);
+            numBloques++;
+            diaMinimo = Math.min(diaMinimo, minimoBloque);
+            diaMaximo = Math.max(diaMaximo, maximoBloque);
+        }
+
+        long posicionFiltros = TAMANIO_CABECERA + bloques.size();
+        for (int b = 0; b < numBloques; b++) {
+            indice.putLong(b * TAMANIO_ENTRADA_INDICE + 44, posicionFiltros + posicionesFiltros.get(b));
+        }
+
+        long posicionDiccionario = posicionFiltros + filtros.size();
+        int numRegistros = listaClientes.size() + listaPajaros.size();
+        int numTrozos = (numRegistros + REGISTROS_POR_TROZO - 1) / REGISTROS_POR_TROZO;
+        ByteArrayOutputStream diccionario = new ByteArrayOutputStream();
+        ByteBuffer tablaTrozos = ByteBuffer.allocate(TAMANIO_ENTRADA_TROZO * numTrozos);
+        for (int t = 0; t < numTrozos; t++) {
+            ByteArrayOutputStream trozo = new ByteArrayOutputStream();
+            DataOutputStream salida = new DataOutputStream(trozo);
+            int fin = Math.min(numRegistros, (t + 1) * REGISTROS_POR_TROZO);
+            for (int r = t * REGISTROS_POR_TROZO; r < fin; r++) {
+                if (r < listaClientes.size()) {
+                    Cliente c = listaClientes.get(r);
+                    escribirTexto(salida, c.getNombre());
+                    escribirTexto(salida, c.getDni());
+                    escribirTexto(salida, c.getTelefono());
+                    escribirTexto(salida, c.getEmail());
+                    salida.writeBoolean(c.isEliminado());
+                } else {
+                    Pajaro p = listaPajaros.get(r - listaClientes.size());
+                    escribirTexto(salida, p.getEspecie());
+                    escribirTexto(salida, p.getColor());
+                    salida.writeDouble(p.getPrecio());
+                }
+            }
+            salida.flush();
+            byte[] original = trozo.toByteArray();
+            byte[] comprimido = comprimir(original);
+            tablaTrozos.putLong(posicionDiccionario + diccionario.size());
+            tablaTrozos.putInt(comprimido.length);
+            tablaTrozos.putInt(original.length);
+            diccionario.write(comprimido);
+        }
+
+        List<int[]> dnis = new ArrayList<>();
+        for (int i = 0; i < listaClientes.size(); i++) {
+            if (listaClientes.get(i).getDni() != null) dnis.add(new int[]{(int) hash(listaClientes.get(i).getDni()), i});
+        }
+        dnis.sort((a, b) -> Integer.compare(a[0], b[0]));
+        ByteBuffer tablaDnis = ByteBuffer.allocate(TAMANIO_ENTRADA_DNI * dnis.size());
+        for (int[] dni : dnis) {
+            tablaDnis.putInt(dni[0]).putInt(dni[1]);
+        }
+
+        long posicionTrozos = posicionDiccionario + diccionario.size();
+        long posicionDnis = posicionTrozos + tablaTrozos.capacity();
+        long posicionIndice = posicionDnis + tablaDnis.capacity();
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANIO_CABECERA);
+        cabecera.putInt(MAGICO).putInt(VERSION).putInt(ventas.size()).putInt(numBloques);
+        cabecera.putLong(diaMinimo).putLong(diaMaximo);
+        cabecera.putInt(listaClientes.size()).putInt(listaPajaros.size());
+        cabecera.putLong(posicionTrozos).putLong(posicionDnis).putLong(posicionIndice);
+
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            cabecera.flip();
+            tablaTrozos.flip();
+            tablaDnis.flip();
+            indice.flip();
+            escribirTodo(canal, cabecera);
+            escribirTodo(canal, ByteBuffer.wrap(bloques.toByteArray()));
+            escribirTodo(canal, ByteBuffer.wrap(filtros.toByteArray()));
+            escribirTodo(canal, ByteBuffer.wrap(diccionario.toByteArray()));
+            escribirTodo(canal, tablaTrozos);
+            escribirTodo(canal, tablaDnis);
+            escribirTodo(canal, indice);
+            canal.force(true);
+        }
+        Files.move(temporal, ruta, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return abrir(ruta);
+    }
+
+    /**
+     * Obtiene las ventas archivadas entre dos fechas (ambas incluidas).
+     * <p>Usa la cabecera y el índice disperso para descomprimir solo los bloques
+     * que pueden contener ventas de ese rango.
+     *
+     * @param desde Fecha inicial.
+     * @param hasta Fecha final.
+     * @return Las ventas del rango, en orden de fecha.
+     * @throws IOException Si el fichero está dañado.
+     */
+    public List<Venta> buscarPorFechas(LocalDate desde, LocalDate hasta) throws IOException {
+        long diaDesde = desde.toEpochDay();
+        long diaHasta = hasta.toEpochDay();
+        List<Venta> resultado = new ArrayList<>();
+        if (diaHasta < primerDia || diaDesde > ultimoDia) return resultado;
+        LectorDiccionario diccionario = new LectorDiccionario();
+        for (int b = 0; b < numBloques; b++) {
+            int entrada = (int) (posicionIndice + (long) b * TAMANIO_ENTRADA_INDICE);
+            if (datos.getLong(entrada + 8) < diaDesde || datos.getLong(entrada) > diaHasta) continue;
+            leerBloque(b, diaDesde, diaHasta, diccionario, null, resultado);
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene las ventas archivadas de un cliente, buscado por DNI (ignorando mayúsculas).
+     * <p>El DNI se localiza en la tabla de DNI sin descomprimir el diccionario, y solo se
+     * descomprimen los bloques cuyo filtro de Bloom puede contenerlo. Si el segmento no
+     * tiene ventas de ese cliente, normalmente no se descomprime nada.
+     *
+     * @param dni El DNI del cliente.
+     * @return Las ventas del cliente, en orden de fecha.
+     * @throws IOException Si el fichero está dañado.
+     */
+    public List<Venta> buscarPorCliente(String dni) throws IOException {
+        List<Venta> resultado = new ArrayList<>();
+        if (dni == null) return resultado;
+        long hash = hash(dni);
+        LectorDiccionario diccionario = new LectorDiccionario();
+        List<Integer> ids = new ArrayList<>();
+        for (int id : idsConHash((int) hash)) {
+            String archivado = diccionario.cliente(id).getDni();
+            if (archivado != null && archivado.equalsIgnoreCase(dni)) ids.add(id);
+        }
+        if (ids.isEmpty()) return resultado;
+
+        boolean[] buscados = new boolean[numClientes];
+        for (int id : ids) {
+            buscados[id] = true;
+        }
+        for (int b = 0; b < numBloques; b++) {
+            if (filtroContiene(b, hash)) {
+                leerBloque(b, Long.MIN_VALUE, Long.MAX_VALUE, diccionario, buscados, resultado);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el número de ventas del segmento.
+     *
+     * @return El número de ventas archivadas.
+     */
+    public int getNumVentas() { return numVentas; }
+
+    /**
+     * Obtiene la fecha de la primera venta del segmento.
+     *
+     * @return La fecha más antigua.
+     */
+    public LocalDate getPrimeraFecha() { return LocalDate.ofEpochDay(primerDia); }
+
+    /**
+     * Obtiene la fecha de la última venta del segmento.
+     *
+     * @return La fecha más reciente.
+     */
+    public LocalDate getUltimaFecha() { return LocalDate.ofEpochDay(ultimoDia); }
+
+    /**
+     * Obtiene la ruta del fichero del segmento.
+     *
+     * @return La ruta del fichero.
+     */
+    public Path getRuta() { return ruta; }
+
+    private void leerBloque(int bloque, long diaDesde, long diaHasta, LectorDiccionario diccionario,
+                            boolean[] clientesBuscados, List<Venta> resultado) throws IOException {
+        int entrada = (int) (posicionIndice + (long) bloque * TAMANIO_ENTRADA_INDICE);
+        long posicion = datos.getLong(entrada + 16);
+        long dia = datos.getLong(entrada + 24);
+        int longitud = datos.getInt(entrada + 32);
+        int longitudOriginal = datos.getInt(entrada + 36);
+        int cuantas = datos.getInt(entrada + 40);
+
+        ByteBuffer bloqueLeido = ByteBuffer.wrap(descomprimir((int) posicion, longitud, longitudOriginal));
+        Pajaro[] pajaros = new Pajaro[8];
+        for (int i = 0; i < cuantas; i++) {
+            dia += deszigzag(leerVarLong(bloqueLeido));
+            int idCliente = (int) leerVarLong(bloqueLeido);
+            int lineas = (int) leerVarLong(bloqueLeido);
+            boolean incluir = dia >= diaDesde && dia <= diaHasta
+                    && (clientesBuscados == null || clientesBuscados[idCliente]);
+            if (incluir && lineas > pajaros.length) pajaros = new Pajaro[lineas];
+            for (int l = 0; l < lineas; l++) {
+                int idPajaro = (int) leerVarLong(bloqueLeido);
+                if (incluir) pajaros[l] = diccionario.pajaro(idPajaro);
+            }
+            double total = bloqueLeido.getDouble();
+            if (incluir) {
+                resultado.add(new Venta(diccionario.cliente(idCliente), LocalDate.ofEpochDay(dia), pajaros, lineas, total));
+            }
+        }
+    }
+
+    /**
+     * Busca en la tabla de DNI los clientes cuyo DNI tiene el hash indicado.
+     */
+    private List<Integer> idsConHash(int hash) {
+        int bajo = 0;
+        int alto = (int) ((posicionIndice - posicionDnis) / TAMANIO_ENTRADA_DNI);
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (datos.getInt((int) (posicionDnis + (long) medio * TAMANIO_ENTRADA_DNI)) < hash) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        List<Integer> ids = new ArrayList<>();
+        int total = (int) ((posicionIndice - posicionDnis) / TAMANIO_ENTRADA_DNI);
+        for (int i = bajo; i < total; i++) {
+            int entrada = (int) (posicionDnis + (long) i * TAMANIO_ENTRADA_DNI);
+            if (datos.getInt(entrada) != hash) break;
+            ids.add(datos.getInt(entrada + 4));
+        }
+        return ids;
+    }
+
+    /**
+     * Lee registros del diccionario durante una consulta, descomprimiendo cada trozo la
+     * primera vez que se necesita. Se descarta al terminar la consulta.
+     */
+    private final class LectorDiccionario {
+        private final HashMap<Integer, Object[]> trozos = new HashMap<>();
+
+        private Cliente cliente(int id) throws IOException {
+            return (Cliente) registro(id);
+        }
+
+        private Pajaro pajaro(int id) throws IOException {
+            return (Pajaro) registro(numClientes + id);
+        }
+
+        private Object registro(int numero) throws IOException {
+            int t = numero / REGISTROS_POR_TROZO;
+            Object[] trozo = trozos.get(t);
+            if (trozo == null) {
+                trozo = leerTrozo(t);
+                trozos.put(t, trozo);
+            }
+            return trozo[numero % REGISTROS_POR_TROZO];
+        }
+
+        private Object[] leerTrozo(int t) throws IOException {
+            int entrada = (int) (posicionTrozos + (long) t * TAMANIO_ENTRADA_TROZO);
+            ByteBuffer leido = ByteBuffer.wrap(descomprimir((int) datos.getLong(entrada), datos.getInt(entrada + 8), datos.getInt(entrada + 12)));
+            int primero = t * REGISTROS_POR_TROZO;
+            Object[] registros = new Object[Math.min(REGISTROS_POR_TROZO, numClientes + numPajaros - primero)];
+            for (int i = 0; i < registros.length; i++) {
+                if (primero + i < numClientes) {
+                    Cliente cliente = new Cliente(leerTexto(leido), leerTexto(leido), leerTexto(leido), leerTexto(leido));
+                    if (leido.get() != 0) cliente.marcarEliminado();
+                    registros[i] = cliente;
+                } else {
+                    registros[i] = new Pajaro(leerTexto(leido), leerTexto(leido), leido.getDouble(), 0);
+                }
+            }
+            return registros;
+        }
+    }
+
+    /**
+     * Indica si el filtro de un bloque puede contener el DNI con el hash indicado.
+     * Puede dar falsos positivos, pero nunca falsos negativos.
+     */
+    private boolean filtroContiene(int bloque, long hash) {
+        int entrada = (int) (posicionIndice + (long) bloque * TAMANIO_ENTRADA_INDICE);
+        int posicion = (int) datos.getLong(entrada + 44);
+        int bits = datos.getInt(entrada + 52) * 8;
+        for (int f = 0; f < FUNCIONES_FILTRO; f++) {
+            int bit = posicionFiltro(hash, f, bits);
+            if ((datos.get(posicion + (bit >>> 3)) & (1 << (bit & 7))) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Crea el filtro de Bloom con los DNI de los clientes de un bloque. Su tamaño es
+     * una potencia de dos de al menos 64 bits.
+     */
+    private static byte[] crearFiltro(Collection<Cliente> clientes) {
+        int bits = Math.max(64, Integer.highestOneBit(Math.max(1, clientes.size() * BITS_POR_CLIENTE - 1)) * 2);
+        byte[] filtro = new byte[bits / 8];
+        for (Cliente cliente : clientes) {
+            if (cliente.getDni() == null) continue;
+            long hash = hash(cliente.getDni());
+            for (int f = 0; f < FUNCIONES_FILTRO; f++) {
+                int bit = posicionFiltro(hash, f, bits);
+                filtro[bit >>> 3] |= (byte) (1 << (bit & 7));
+            }
+        }
+        return filtro;
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits del DNI en mayúsculas. No depende de la JVM, así que sirve
+     * para las tablas y los filtros guardados en disco.
+     */
+    private static long hash(String dni) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : dni.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Bit del filtro para la función hash {@code f}, por doble hash con las dos mitades
+     * de {@code hash}. {@code bits} debe ser potencia de dos.
+     */
+    private static int posicionFiltro(long hash, int f, int bits) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + f * h2) & (bits - 1);
+    }
+
+    private byte[] descomprimir(int posicion, int longitud, int longitudOriginal) throws IOException {
+        ByteBuffer origen = datos.slice(posicion, longitud);
+        byte[] destino = new byte[longitudOriginal];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(origen);
+            int leidos = 0;
+            while (leidos < longitudOriginal && !inflater.finished()) {
+                leidos += inflater.inflate(destino, leidos, longitudOriginal - leidos);
+            }
+            if (leidos != longitudOriginal) {
+                throw new IOException("Bloque dañado en " + ruta);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloque dañado en " + ruta, e);
+        } finally {
+            inflater.end();
+        }
+        return destino;
+    }
+
+    private static byte[] comprimir(byte[] original) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(original);
+            deflater.finish();
+            ByteArrayOutputStream salida = new ByteArrayOutputStream(Math.max(64, original.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                salida.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return salida.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static <T> int id(IdentityHashMap<T, Integer> ids, List<T> lista, T valor) {
+        Integer id = ids.get(valor);
+        if (id == null) {
+            id = lista.size();
+            ids.put(valor, id);
+            lista.add(valor);
+        }
+        return id;
+    }
+
+    private static long dia(Venta venta) {
+        return LocalDate.parse(venta.getFecha()).toEpochDay();
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long deszigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static void escribirDouble(ByteArrayOutputStream salida, double valor) {
+        long bits = Double.doubleToLongBits(valor);
+        for (int desplazamiento = 56; desplazamiento >= 0; desplazamiento -= 8) {
+            salida.write((int) (bits >>> desplazamiento));
+        }
+    }
+
+    private static void escribirVarLong(ByteArrayOutputStream salida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            salida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.write((int) valor);
+    }
+
+    private static long leerVarLong(ByteBuffer entrada) {
+        long valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = entrada.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    private static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        byte[] bytes = texto == null ? new byte[0] : texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(texto == null ? -1 : bytes.length);
+        salida.write(bytes);
+    }
+
+    private static String leerTexto(ByteBuffer entrada) {
+        int longitud = entrada.getInt();
+        if (longitud < 0) return null;
+        byte[] bytes = new byte[longitud];
+        entrada.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void escribirTodo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+}
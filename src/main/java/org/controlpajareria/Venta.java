@@ -1,7 +1,11 @@
 package org.controlpajareria;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 
 /**
  * Clase que representa una venta en nuestro control de una pajarería.
@@ -34,6 +38,17 @@ public class Venta {
      */
     private String fecha;
 
+    /**
+     * Importe total de la venta, actualizado cada vez que se añade un pájaro.
+     */
+    private double total;
+
+    /**
+     * Fecha de hoy ya formateada, compartida por todas las ventas del día para no
+     * crear una fecha y su texto en cada venta.
+     */
+    private static volatile Dia hoy;
+
     /**
      * Constructor que inicializa una nueva venta para un cliente específico.
      * La fecha se establece automáticamente como la fecha actual del sistema,
@@ -44,7 +59,58 @@ public class Venta {
     public Venta(Cliente cliente) {
         this.cliente = cliente;
         this.lineasDeVenta = new ArrayList<>();
-        this.fecha = LocalDate.now().toString();
+        this.fecha = fechaDeHoy();
+    }
+
+    /**
+     * Constructor que inicializa una venta para un cliente en una fecha concreta.
+     * Se utiliza, por ejemplo, para registrar ventas de días anteriores.
+     *
+     * @param cliente El cliente que realiza la compra. No debe ser {@code null}.
+     * @param fecha   La fecha de la venta. No debe ser {@code null}.
+     */
+    public Venta(Cliente cliente, LocalDate fecha) {
+        this.cliente = cliente;
+        this.lineasDeVenta = new ArrayList<>();
+        this.fecha = fecha.toString();
+    }
+
+    /**
+     * Constructor que crea una venta de hoy ya completa a partir de las líneas de una
+     * {@code CestaVenta}. Las líneas se copian en una lista de su tamaño exacto.
+     *
+     * @param cliente    El cliente que realiza la compra.
+     * @param lineas     Los pájaros vendidos.
+     * @param numLineas  Número de posiciones de {@code lineas} que están ocupadas.
+     * @param total      El importe total de esas líneas.
+     */
+    Venta(Cliente cliente, Pajaro[] lineas, int numLineas, double total) {
+        this(cliente, fechaDeHoy(), lineas, numLineas, total);
+    }
+
+    /**
+     * Constructor que crea una venta ya completa en una fecha concreta, con el total con
+     * el que se vendió. Se utiliza al recuperar ventas del archivo histórico, donde el
+     * precio de los pájaros puede haber cambiado desde la venta.
+     *
+     * @param cliente    El cliente que realizó la compra.
+     * @param fecha      La fecha de la venta.
+     * @param lineas     Los pájaros vendidos.
+     * @param numLineas  Número de posiciones de {@code lineas} que están ocupadas.
+     * @param total      El importe total de la venta.
+     */
+    Venta(Cliente cliente, LocalDate fecha, Pajaro[] lineas, int numLineas, double total) {
+        this(cliente, fecha.toString(), lineas, numLineas, total);
+    }
+
+    private Venta(Cliente cliente, String fecha, Pajaro[] lineas, int numLineas, double total) {
+        this.cliente = cliente;
+        this.lineasDeVenta = new ArrayList<>(numLineas);
+        for (int i = 0; i < numLineas; i++) {
+            lineasDeVenta.add(lineas[i]);
+        }
+        this.fecha = fecha;
+        this.total = total;
     }
 
     /**
@@ -55,16 +121,19 @@ public class Venta {
      */
     public void agregarPajaro(Pajaro pajaro) {
         lineasDeVenta.add(pajaro);
+        total += pajaro.getPrecio();
     }
 
     /**
      * Calcula el precio total de la venta sumando los precios de todos los pájaros incluidos.
+     * <p>El total se acumula al añadir cada pájaro, con el precio que tenía en ese momento,
+     * así que un cambio de precio posterior no altera las ventas ya hechas.
      *
      * @return El importe total de la venta como un valor double. Si no hay pájaros,
      *         devuelve 0.0.
      */
     public double calcularTotal() {
-        return lineasDeVenta.stream().mapToDouble(Pajaro::getPrecio).sum();
+        return total;
     }
 
     /**
@@ -76,10 +145,12 @@ public class Venta {
 
     /**
      * Obtiene la lista de pájaros incluidos en la venta.
+     * <p>La lista es de solo lectura: los pájaros se añaden con {@link #agregarPajaro(Pajaro)},
+     * que es quien mantiene al día el total.
      *
-     * @return Una referencia a la lista de objetos {@code Pajaro} vendidos.
+     * @return Una vista no modificable de los objetos {@code Pajaro} vendidos.
      */
-    public ArrayList<Pajaro> getLineasDeVenta() { return lineasDeVenta; }
+    public List<Pajaro> getLineasDeVenta() { return Collections.unmodifiableList(lineasDeVenta); }
 
     /**
      * Obtiene la fecha en la que se realizó la venta.
@@ -91,12 +162,49 @@ public class Venta {
     /**
      * Devuelve una cadena de texto de la venta.
      * El formato incluye el nombre del cliente, la fecha y el total.
+     * Si el cliente está dado de baja, se indica junto a su nombre.
      *
      * @return Una cadena con el formato:
      *         {@code Venta{cliente=Nombre, fecha='YYYY-MM-DD', total=XX.XX}}
      */
     @Override
     public String toString() {
-        return "Venta{cliente=" + cliente.getNombre() + ", fecha='" + fecha + "', total=" + String.format("%.2f", calcularTotal()) + "}";
+        return "Venta{cliente=" + cliente.getNombre() + (cliente.isEliminado() ? " (baja)" : "") + ", fecha='" + fecha + "', total=" + FormatoPrecio.anadir(new StringBuilder(), calcularTotal()) + "}";
+    }
+
+    /**
+     * Obtiene la fecha de hoy como texto ISO ({@code AAAA-MM-DD}).
+     * <p>El texto se calcula una vez al día y se reutiliza hasta la medianoche, de modo
+     * que registrar una venta no crea ningún objeto para la fecha.
+     *
+     * @return La fecha actual del sistema.
+     */
+    static String fechaDeHoy() {
+        long ahora = System.currentTimeMillis();
+        Dia dia = hoy;
+        if (dia == null || ahora < dia.desde || ahora >= dia.hasta) {
+            ZoneId zona = ZoneId.systemDefault();
+            LocalDate fecha = LocalDate.ofInstant(Instant.ofEpochMilli(ahora), zona);
+            dia = new Dia(fecha.atStartOfDay(zona).toInstant().toEpochMilli(),
+                    fecha.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli(),
+                    fecha.toString());
+            hoy = dia;
+        }
+        return dia.texto;
+    }
+
+    /**
+     * Día del calendario con su intervalo en milisegundos y su texto ya formateado.
+     */
+    private static final class Dia {
+        private final long desde;
+        private final long hasta;
+        private final String texto;
+
+        private Dia(long desde, long hasta, String texto) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.texto = texto;
+        }
     }
 }
\ No newline at end of file
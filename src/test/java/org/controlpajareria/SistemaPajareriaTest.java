@@ -3,7 +3,12 @@ package org.controlpajareria;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,4 +53,419 @@ public class SistemaPajareriaTest {
         double total = venta.calcularTotal();
         assertEquals(65.0, total, 0.01);
     }
+
+    @Test
+    void testVentaEnLoteAgrupaStockYReportaFallos() {
+        RegistroClientes registro = new RegistroClientes();
+        registro.alta(new Cliente("Ana López", "12345678A", "600111222", "ana@email.com"));
+        ArrayList<Pajaro> catalogo = new ArrayList<>();
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 3);
+        catalogo.add(canario);
+        RegistroVentas ventas = new RegistroVentas();
+
+        List<ResultadoPedido> resultados = new ProcesadorPedidos(registro, catalogo, ventas).procesar(List.of(
+                new Pedido("12345678a", 1, 2),
+                new Pedido("00000000X", 1, 1),
+                new Pedido("12345678A", 1, 2),
+                new Pedido("12345678A", 5, 1),
+                new Pedido("12345678A", 1, 1)));
+
+        assertEquals(ResultadoPedido.Estado.ACEPTADO, resultados.get(0).getEstado());
+        assertEquals(ResultadoPedido.Estado.CLIENTE_NO_ENCONTRADO, resultados.get(1).getEstado());
+        assertEquals(ResultadoPedido.Estado.STOCK_INSUFICIENTE, resultados.get(2).getEstado());
+        assertEquals(ResultadoPedido.Estado.ARTICULO_NO_VALIDO, resultados.get(3).getEstado());
+        assertEquals(ResultadoPedido.Estado.ACEPTADO, resultados.get(4).getEstado());
+        assertEquals(0, canario.getCantidad());
+        assertEquals(2, ventas.tamanio());
+        assertEquals(50.0, ventas.instantanea().get(0).calcularTotal(), 0.01);
+    }
+
+    @Test
+    void testLotesSimultaneosNoVendenMasDelStock() throws InterruptedException {
+        RegistroClientes registro = new RegistroClientes();
+        registro.alta(new Cliente("Ana López", "12345678A", "600111222", "ana@email.com"));
+        ArrayList<Pajaro> catalogo = new ArrayList<>();
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 1000);
+        catalogo.add(canario);
+        RegistroVentas ventas = new RegistroVentas();
+        List<Pedido> lote = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lote.add(new Pedido("12345678A", 1, 1));
+        }
+
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            Thread hilo = new Thread(() -> new ProcesadorPedidos(registro, catalogo, ventas).procesar(lote));
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        assertEquals(0, canario.getCantidad());
+        assertEquals(1000, ventas.tamanio());
+    }
+
+    @Test
+    void testIndiceCatalogoSigueCambiosDePrecioYStock() {
+        IndiceCatalogo indice = new IndiceCatalogo();
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 3);
+        Pajaro periquito = new Pajaro("Periquito", "Verde", 40.0, 2);
+        Pajaro jilguero = new Pajaro("Jilguero", "Marrón", 60.0, 1);
+        indice.agregar(canario);
+        indice.agregar(periquito);
+        indice.agregar(jilguero);
+
+        assertEquals(List.of(canario, periquito), indice.buscarPorRangoPrecio(20.0, 50.0));
+        assertEquals(List.of(jilguero), indice.buscarStockBajo(2));
+
+        jilguero.setPrecio(45.0);
+        canario.setCantidad(0);
+
+        assertEquals(List.of(canario, periquito, jilguero), indice.buscarPorRangoPrecio(20.0, 50.0));
+        assertEquals(List.of(canario, jilguero), indice.buscarStockBajo(2));
+    }
+
+    @Test
+    void testIndiceCatalogoTrataMenosCeroComoCero() {
+        IndiceCatalogo indice = new IndiceCatalogo();
+        Pajaro regalo = new Pajaro("Gorrión", "Marrón", -0.0, 1);
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 3);
+        indice.agregar(regalo);
+        indice.agregar(canario);
+
+        assertEquals(List.of(regalo, canario), indice.buscarPorRangoPrecio(0.0, 30.0));
+        assertEquals(List.of(regalo), indice.buscarPorRangoPrecio(-0.0, -0.0));
+
+        canario.setPrecio(-0.0);
+        regalo.setPrecio(10.0);
+        assertEquals(List.of(canario), indice.buscarPorRangoPrecio(0.0, 0.0));
+        assertEquals(List.of(regalo), indice.buscarPorRangoPrecio(5.0, 30.0));
+    }
+
+    @Test
+    void testBajaClienteEsLogicaYSeCompacta() {
+        RegistroClientes registro = new RegistroClientes(0.25, 4);
+        for (int i = 0; i < 40; i++) {
+            registro.alta(new Cliente("Cliente " + i, "DNI" + i, "600000000", "c" + i + "@email.com"));
+        }
+        Cliente ana = registro.buscar("dni3");
+        Venta venta = new Venta(ana);
+
+        assertSame(ana, registro.baja("DNI3"));
+        assertNull(registro.buscar("DNI3"));
+        assertNull(registro.baja("DNI3"));
+        assertTrue(venta.getCliente().isEliminado());
+        assertTrue(venta.toString().contains("(baja)"));
+        assertEquals(39, registro.listar().size());
+
+        for (int i = 10; i < 20; i++) {
+            registro.baja("DNI" + i);
+        }
+        registro.compactar();
+
+        assertEquals(0, registro.getEliminados());
+        assertEquals(29, registro.getRanurasOcupadas());
+        assertEquals(29, registro.tamanio());
+        assertNotNull(registro.buscar("DNI39"));
+        assertTrue(registro.alta(new Cliente("Nueva", "DNI3", "600000000", "n@email.com")));
+    }
+
+    @Test
+    void testInstantaneaDeVentasNoCambiaMientrasSeRegistran() throws InterruptedException {
+        RegistroVentas registro = new RegistroVentas();
+        Cliente cliente = new Cliente("Ana López", "12345678A", "600111222", "ana@email.com");
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 1);
+        for (int i = 0; i < 1500; i++) {
+            Venta venta = new Venta(cliente);
+            venta.agregarPajaro(canario);
+            registro.registrar(venta);
+        }
+
+        RegistroVentas.Instantanea instantanea = registro.instantanea();
+        Thread escritor = new Thread(() -> {
+            for (int i = 0; i < 5000; i++) {
+                Venta venta = new Venta(cliente);
+                venta.agregarPajaro(canario);
+                registro.registrar(venta);
+            }
+        });
+        escritor.start();
+
+        double total = 0;
+        int leidas = 0;
+        for (Venta v : instantanea) {
+            total += v.calcularTotal();
+            leidas++;
+        }
+        escritor.join();
+
+        assertEquals(1500, leidas);
+        assertEquals(1500 * 25.0, total, 0.01);
+        assertEquals(6500, registro.tamanio());
+        assertEquals(6500, registro.instantanea().tamanio());
+    }
+
+    @Test
+    void testBusquedaAproximadaPorNombre() {
+        RegistroClientes registro = new RegistroClientes();
+        Cliente ana = new Cliente("Ana López", "12345678A", "600111222", "ana@email.com");
+        Cliente luis = new Cliente("Luis García", "87654321B", "699888777", "luis@email.com");
+        registro.alta(ana);
+        registro.alta(luis);
+        registro.alta(new Cliente("Anabel Ruiz", "11111111C", "611222333", "anabel@email.com"));
+
+        assertSame(ana, registro.buscarPorNombre("ana lopez", 3).get(0));
+        assertSame(ana, registro.buscarPorNombre("Ana Lpez", 3).get(0));
+        assertSame(luis, registro.buscarPorNombre("luis@email", 3).get(0));
+        assertTrue(registro.buscarPorNombre("zzzz", 3).isEmpty());
+
+        luis.setNombre("Luis Pérez");
+        registro.actualizar(luis);
+        assertSame(luis, registro.buscarPorNombre("luis perez", 1).get(0));
+
+        registro.baja("12345678A");
+        assertFalse(registro.buscarPorNombre("ana lopez", 3).contains(ana));
+    }
+
+    @Test
+    void testBusquedaConErratasEntreMuchosClientes() {
+        RegistroClientes registro = new RegistroClientes();
+        String[] segundos = {"Martín", "Ruiz", "Sanz", "Gil", "Díaz"};
+        int porGrupo = IndiceNombresClientes.LIMITE_CANDIDATOS + 5_000;
+        for (int i = 0; i < porGrupo; i++) {
+            String segundo = segundos[i % segundos.length];
+            registro.alta(new Cliente("Ana " + (i % 2 == 0 ? "López " : "Pérez ") + segundo, "A" + i, "600000000", "a" + i + "@email.com"));
+            registro.alta(new Cliente("María Gómez " + segundo, "M" + i, "600000000", "m" + i + "@email.com"));
+            registro.alta(new Cliente("Luis García " + segundo, "L" + i, "600000000", "l" + i + "@email.com"));
+        }
+        Cliente ana = new Cliente("Ana López", "12345678A", "600111222", "ana@email.com");
+        Cliente maria = new Cliente("María Gómez", "22222222D", "622333444", "maria@email.com");
+        Cliente luis = new Cliente("Luis García", "87654321B", "699888777", "luis@email.com");
+        registro.alta(ana);
+        registro.alta(maria);
+        registro.alta(luis);
+
+        assertSame(ana, registro.buscarPorNombre("ana lopez", 5).get(0));
+        assertSame(ana, registro.buscarPorNombre("Ana Lpez", 5).get(0));
+        assertSame(maria, registro.buscarPorNombre("Maria Gomes", 5).get(0));
+        assertSame(luis, registro.buscarPorNombre("Luis Garcai", 5).get(0));
+        assertEquals(5, registro.buscarPorNombre("Ana Lpez", 5).size());
+    }
+
+    @Test
+    void testIndiceNombresSeReconstruyeSinPerderCambios() throws InterruptedException {
+        IndiceNombresClientes indice = new IndiceNombresClientes();
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            Cliente cliente = new Cliente("Cliente " + i, "DNI" + i, "600000000", "c" + i + "@email.com");
+            clientes.add(cliente);
+            indice.agregar(cliente);
+        }
+        for (int i = 0; i < clientes.size(); i += 2) {
+            indice.quitar(clientes.get(i));
+        }
+        assertTrue(indice.necesitaReconstruir());
+
+        Thread reconstruccion = new Thread(indice::reconstruirSiHaceFalta);
+        reconstruccion.start();
+        Cliente nuevo = new Cliente("Zacarías Ortega", "99999999Z", "600000000", "zacarias@email.com");
+        indice.agregar(nuevo);
+        Cliente renombrado = clientes.get(1);
+        renombrado.setNombre("Bartolomé Quintana");
+        indice.actualizar(renombrado);
+        indice.quitar(clientes.get(3));
+        reconstruccion.join();
+
+        assertFalse(indice.necesitaReconstruir());
+        assertSame(nuevo, indice.buscar("Zacarias Ortega", 1).get(0));
+        assertSame(renombrado, indice.buscar("Bartolome Quintana", 1).get(0));
+        assertSame(clientes.get(5), indice.buscar("Cliente 5", 1).get(0));
+        assertFalse(indice.buscar("Cliente 3", 5).contains(clientes.get(3)));
+        assertFalse(indice.buscar("Cliente 2", 5).contains(clientes.get(2)));
+    }
+
+    @Test
+    void testClasificacionesSeActualizanConCadaVenta() {
+        RegistroVentas registro = new RegistroVentas();
+        ClasificacionVentas clasificacion = new ClasificacionVentas();
+        registro.suscribir(clasificacion::registrar);
+        Cliente ana = new Cliente("Ana López", "12345678A", "600111222", "ana@email.com");
+        Cliente luis = new Cliente("Luis García", "87654321B", "699888777", "luis@email.com");
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 10);
+        Pajaro periquito = new Pajaro("Periquito", "Verde", 40.0, 10);
+
+        Venta v1 = new Venta(ana);
+        v1.agregarPajaro(canario);
+        v1.agregarPajaro(canario);
+        v1.agregarPajaro(canario);
+        registro.registrar(v1);
+        Venta v2 = new Venta(luis);
+        v2.agregarPajaro(periquito);
+        v2.agregarPajaro(periquito);
+        registro.registrar(v2);
+        for (int i = 0; i < 20; i++) {
+            Venta rara = new Venta(new Cliente("Cliente " + i, "DNI" + i, "600000000", "c@email.com"));
+            rara.agregarPajaro(new Pajaro("Especie " + i, "Gris", 1.0, 1));
+            registro.registrar(rara);
+        }
+
+        List<ClasificacionTopK.Puesto<String>> especies = clasificacion.especiesMasVendidas(2);
+        assertEquals("Canario", especies.get(0).getClave());
+        assertEquals("Periquito", especies.get(1).getClave());
+        List<ClasificacionTopK.Puesto<Cliente>> mejores = clasificacion.mejoresClientes(2);
+        assertSame(luis, mejores.get(0).getClave());
+        assertEquals(80.0, mejores.get(0).getCuenta(), 0.01);
+        assertSame(ana, mejores.get(1).getClave());
+    }
+
+    @Test
+    void testMejoresClientesExactosConMuchosClientes() {
+        ClasificacionVentas clasificacion = new ClasificacionVentas();
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 1);
+        Pajaro loro = new Pajaro("Loro", "Verde", 300.0, 1);
+        List<Cliente> grandes = new ArrayList<>();
+        for (int g = 0; g < 10; g++) {
+            grandes.add(new Cliente("Grande " + g, "GRANDE" + g, "600000000", "g@email.com"));
+        }
+        for (int i = 0; i < 200_000; i++) {
+            Venta venta = new Venta(new Cliente("Cliente " + i, "DNI" + i, "600000000", "c@email.com"));
+            venta.agregarPajaro(canario);
+            clasificacion.registrar(venta);
+            if (i % 20_000 == 0) {
+                for (int g = 0; g < 10; g++) {
+                    Venta compra = new Venta(grandes.get(g));
+                    for (int u = 0; u <= g; u++) compra.agregarPajaro(loro);
+                    clasificacion.registrar(compra);
+                }
+            }
+        }
+
+        List<ClasificacionTopK.Puesto<Cliente>> mejores = clasificacion.mejoresClientes(10);
+        assertEquals(10, mejores.size());
+        for (int puesto = 0; puesto < 10; puesto++) {
+            assertSame(grandes.get(9 - puesto), mejores.get(puesto).getClave());
+            assertEquals(3000.0 * (10 - puesto), mejores.get(puesto).getCuenta(), 0.01);
+            assertEquals(0.0, mejores.get(puesto).getError());
+        }
+    }
+
+    @Test
+    void testOyenteQueFallaNoImpideRegistrarVentas() {
+        RegistroVentas registro = new RegistroVentas();
+        List<Venta> recibidas = new ArrayList<>();
+        registro.suscribir(venta -> { throw new IllegalStateException("oyente roto"); });
+        registro.suscribir(recibidas::add);
+        Venta venta = new Venta(new Cliente("Ana López", "12345678A", "600111222", "ana@email.com"));
+        venta.agregarPajaro(new Pajaro("Canario", "Amarillo", 25.0, 1));
+
+        registro.registrar(venta);
+        registro.registrarTodas(List.of(venta, venta));
+
+        assertEquals(3, registro.tamanio());
+        assertEquals(3, recibidas.size());
+    }
+
+    @Test
+    void testClasificacionTopKConservaLosFrecuentesConMemoriaFija() {
+        ClasificacionTopK<String> clasificacion = new ClasificacionTopK<>(4);
+        for (int i = 0; i < 30; i++) {
+            clasificacion.sumar("Canario", 1);
+            if (i < 20) clasificacion.sumar("Especie " + i, 1);
+        }
+
+        ClasificacionTopK.Puesto<String> primero = clasificacion.primeros(1).get(0);
+        assertEquals("Canario", primero.getClave());
+        assertTrue(primero.getCuenta() - primero.getError() <= 30);
+        assertTrue(primero.getCuenta() >= 30);
+        assertEquals(4, clasificacion.primeros(10).size());
+    }
+
+    @Test
+    void testArchivarVentasAntiguasYConsultarlas() throws IOException {
+        Path directorio = Files.createTempDirectory("archivo-ventas");
+        RegistroVentas registro = new RegistroVentas();
+        RegistroClientes clientesActivos = new RegistroClientes();
+        Cliente ana = new Cliente("Ana López", "12345678A", "600111222", "ana@email.com");
+        Cliente luis = new Cliente("Luis García", "87654321B", "699888777", "luis@email.com");
+        clientesActivos.alta(ana);
+        clientesActivos.alta(luis);
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 10);
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 1500; i++) {
+            if (i == 1000) canario.setPrecio(30.0);
+            Venta venta = new Venta(i % 2 == 0 ? ana : luis, inicio.plusDays(i / 10));
+            venta.agregarPajaro(canario);
+            registro.registrar(venta);
+        }
+        Venta reciente = new Venta(ana);
+        reciente.agregarPajaro(canario);
+        registro.registrar(reciente);
+        canario.setPrecio(40.0);
+
+        ArchivoVentas archivo = new ArchivoVentas(directorio);
+        assertEquals(1500, archivo.archivarAnteriores(registro, LocalDate.now().minusDays(30)));
+        assertEquals(1, registro.tamanio());
+        assertSame(reciente, registro.instantanea().get(0));
+
+        clientesActivos.baja("87654321B");
+        ArchivoVentas reabierto = new ArchivoVentas(directorio, clientesActivos::buscar);
+        assertEquals(1500, reabierto.getNumVentas());
+        List<Venta> enero = reabierto.buscarPorFechas(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        assertEquals(310, enero.size());
+        assertEquals("2024-01-01", enero.get(0).getFecha());
+        assertEquals(25.0, enero.get(0).calcularTotal(), 0.01);
+        List<Venta> trasSubida = reabierto.buscarPorFechas(inicio.plusDays(100), inicio.plusDays(100));
+        assertEquals(10, trasSubida.size());
+        assertEquals(30.0, trasSubida.get(0).calcularTotal(), 0.01);
+        assertEquals(30.0, reciente.calcularTotal(), 0.01);
+        List<Venta> deLuis = reabierto.buscarPorCliente("87654321b");
+        assertEquals(750, deLuis.size());
+        assertTrue(deLuis.get(0).toString().contains("(baja)"));
+        assertFalse(reabierto.buscarPorCliente("12345678A").get(0).getCliente().isEliminado());
+        assertTrue(reabierto.buscarPorCliente("00000000X").isEmpty());
+    }
+
+    @Test
+    void testCestaVentaReutilizableYListadoPreparado() {
+        Cliente ana = new Cliente("Ana López", "12345678A", "600111222", "ana@email.com");
+        Pajaro canario = new Pajaro("Canario", "Amarillo", 25.0, 10);
+        Pajaro periquito = new Pajaro("Periquito", "Verde", 40.5, 5);
+        ArrayList<Pajaro> catalogo = new ArrayList<>(List.of(canario, periquito));
+        IndiceCatalogo indice = new IndiceCatalogo();
+        catalogo.forEach(indice::agregar);
+
+        CestaVenta cesta = new CestaVenta();
+        for (int i = 0; i < 20; i++) {
+            cesta.agregar(i % 2 == 0 ? canario : periquito);
+        }
+        Venta venta = cesta.cerrar(ana);
+        assertTrue(cesta.estaVacia());
+        assertEquals(20, venta.getLineasDeVenta().size());
+        assertEquals(655.0, venta.calcularTotal(), 0.01);
+        assertEquals(LocalDate.now().toString(), venta.getFecha());
+        assertThrows(IllegalStateException.class, () -> cesta.cerrar(ana));
+
+        assertEquals(String.format("%.2f", 655.0), FormatoPrecio.anadir(new StringBuilder(), 655.0).toString());
+        assertEquals(String.format("%.2f", 0.07), FormatoPrecio.anadir(new StringBuilder(), 0.07).toString());
+        assertEquals(String.format("%.2f", 0.1 + 0.2), FormatoPrecio.anadir(new StringBuilder(), 0.1 + 0.2).toString());
+        for (double importe : new double[] {1.005, 2.675, 999999.995, 1e17, -0.001, -0.0, -12.345, Double.NaN}) {
+            assertEquals(String.format("%.2f", importe), FormatoPrecio.anadir(new StringBuilder(), importe).toString());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> venta.getLineasDeVenta().add(canario));
+        canario.setPrecio(30.0);
+        assertEquals(655.0, venta.calcularTotal(), 0.01);
+        assertTrue(venta.toString().endsWith("total=" + String.format("%.2f", 655.0) + "}"));
+
+        ListadoCatalogo listado = new ListadoCatalogo(catalogo, indice);
+        String texto = listado.getTexto();
+        assertSame(texto, listado.getTexto());
+        assertTrue(texto.contains("2. " + periquito));
+        periquito.setCantidad(4);
+        assertNotSame(texto, listado.getTexto());
+        assertTrue(listado.getTexto().contains("cantidad='4'"));
+        canario.setColor("Blanco");
+        assertTrue(listado.getTexto().contains("Blanco"));
+    }
 }
\ No newline at end of file
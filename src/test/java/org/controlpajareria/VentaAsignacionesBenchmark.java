@@ -0,0 +1,99 @@
+package org.controlpajareria;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH que mide lo que se crea en memoria al registrar una venta de tres
+ * pájaros desde el menú: la forma anterior (listado rehecho en cada línea, fecha con
+ * {@code LocalDate}, total con un stream y {@code String.format}) frente a la actual
+ * ({@code CestaVenta}, {@code ListadoCatalogo} y {@code FormatoPrecio}).
+ *
+ * <p>Se ejecuta con el perfilador de memoria para ver los bytes por venta ({@code gc.alloc.rate.norm}):
+ * {@code mvn -Pbench test-compile exec:exec -Dbench="VentaAsignacionesBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VentaAsignacionesBenchmark {
+
+    private static final int LINEAS_POR_VENTA = 3;
+
+    private ArrayList<Pajaro> catalogo;
+    private ListadoCatalogo listado;
+    private Cliente cliente;
+    private RegistroVentas ventas;
+    private CestaVenta cesta;
+    private StringBuilder mensaje;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        catalogo = new ArrayList<>();
+        IndiceCatalogo indice = new IndiceCatalogo();
+        for (int i = 0; i < 20; i++) {
+            Pajaro pajaro = new Pajaro("Especie " + i, "Color", 10.0 + i, 1_000);
+            catalogo.add(pajaro);
+            indice.agregar(pajaro);
+        }
+        listado = new ListadoCatalogo(catalogo, indice);
+        cliente = new Cliente("Ana López", "12345678A", "600000000", "ana@email.com");
+        ventas = new RegistroVentas();
+        ventas.suscribir(new ClasificacionVentas()::registrar);
+        cesta = new CestaVenta();
+        mensaje = new StringBuilder();
+    }
+
+    @Benchmark
+    public void anterior(Blackhole agujero) {
+        Venta venta = new Venta(cliente, LocalDate.now());
+        ArrayList<Pajaro> lineas = new ArrayList<>();
+        for (int l = 0; l < LINEAS_POR_VENTA; l++) {
+            for (int i = 0; i < catalogo.size(); i++) {
+                agujero.consume((i + 1) + ". " + catalogo.get(i));
+            }
+            Pajaro pajaro = siguientePajaro();
+            venta.agregarPajaro(pajaro);
+            lineas.add(pajaro);
+        }
+        registrar(venta);
+        double total = lineas.stream().mapToDouble(Pajaro::getPrecio).sum();
+        agujero.consume("Venta registrada. Total: $" + String.format("%.2f", total));
+    }
+
+    @Benchmark
+    public void actual(Blackhole agujero) {
+        cesta.vaciar();
+        for (int l = 0; l < LINEAS_POR_VENTA; l++) {
+            agujero.consume(listado.getTexto());
+            cesta.agregar(siguientePajaro());
+        }
+        Venta venta = cesta.cerrar(cliente);
+        registrar(venta);
+        mensaje.setLength(0);
+        agujero.consume(FormatoPrecio.anadir(mensaje.append("Venta registrada. Total: $"), venta.calcularTotal()));
+    }
+
+    private Pajaro siguientePajaro() {
+        siguiente = (siguiente + 1) % catalogo.size();
+        return catalogo.get(siguiente);
+    }
+
+    /**
+     * Registra la venta y, al completar cada segmento, vacía el histórico para que la
+     * memoria no crezca durante la medición. Es igual en las dos variantes.
+     */
+    private void registrar(Venta venta) {
+        ventas.registrar(venta);
+        if (ventas.tamanio() == RegistroVentas.TAMANIO_SEGMENTO) {
+            ventas.descartarPrimeras(RegistroVentas.TAMANIO_SEGMENTO);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.controlpajareria;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH que compara el procesamiento de un lote de pedidos uno a uno,
+ * por el mismo camino que el menú (cliente buscado en el {@code RegistroClientes},
+ * venta montada en una {@code CestaVenta}, stock descontado y venta registrada
+ * pedido a pedido), frente al procesamiento agrupado de {@code ProcesadorPedidos}.
+ *
+ * <p>Se ejecuta con: {@code mvn -Pbench test-compile exec:exec -Dbench=VentaLoteBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VentaLoteBenchmark {
+
+    @Param({"10000"})
+    int numClientes;
+
+    @Param({"5000"})
+    int numPedidos;
+
+    private RegistroClientes registro;
+    private ArrayList<Pajaro> catalogo;
+    private CestaVenta cesta;
+    private RegistroVentas registroVentas;
+    private List<Pedido> pedidos;
+
+    @Setup(Level.Invocation)
+    public void preparar() {
+        Random random = new Random(42);
+        registro = new RegistroClientes();
+        for (int i = 0; i < numClientes; i++) {
+            Cliente cliente = new Cliente("Cliente " + i, "DNI" + i, "600000000", "c" + i + "@email.com");
+            registro.alta(cliente);
+        }
+        catalogo = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            catalogo.add(new Pajaro("Especie " + i, "Color", 10.0 + i, 1_000_000));
+        }
+        cesta = new CestaVenta();
+        registroVentas = new RegistroVentas();
+        pedidos = new ArrayList<>(numPedidos);
+        for (int i = 0; i < numPedidos; i++) {
+            pedidos.add(new Pedido("DNI" + random.nextInt(numClientes), 1 + random.nextInt(50), 1 + random.nextInt(3)));
+        }
+    }
+
+    @Benchmark
+    public RegistroVentas unoAUno() {
+        for (Pedido pedido : pedidos) {
+            Cliente cliente = registro.buscar(pedido.getDni());
+            Pajaro pajaro = catalogo.get(pedido.getNumeroArticulo() - 1);
+            if (cliente == null || pajaro.getCantidad() < pedido.getCantidad()) continue;
+            for (int i = 0; i < pedido.getCantidad(); i++) {
+                cesta.agregar(pajaro);
+            }
+            pajaro.setCantidad(pajaro.getCantidad() - pedido.getCantidad());
+            registroVentas.registrar(cesta.cerrar(cliente));
+        }
+        return registroVentas;
+    }
+
+    @Benchmark
+    public List<ResultadoPedido> enLote() {
+        return new ProcesadorPedidos(registro, catalogo, registroVentas).procesar(pedidos);
+    }
+}